@@ -0,0 +1,75 @@
+package ru.practicum.admission;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.domain.EventChanged;
+import ru.practicum.dto.ParticipationRequestDto;
+import ru.practicum.entity.Event;
+import ru.practicum.entity.ParticipationRequest;
+import ru.practicum.exception.ConflictException;
+import ru.practicum.exception.NotFoundException;
+import ru.practicum.mapper.RequestMapper;
+import ru.practicum.repository.EventRepository;
+import ru.practicum.repository.RequestRepository;
+import ru.practicum.repository.UserRepository;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class AdmissionBatchWriter {
+    private final EventRepository eventRepository;
+    private final RequestRepository requestRepository;
+    private final UserRepository userRepository;
+    private final RequestMapper requestMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public Set<Long> findExistingUsers(Collection<Long> userIds) {
+        return new HashSet<>(userRepository.findExistingIds(userIds));
+    }
+
+    /**
+     * Seats the event has left, or empty once it no longer qualifies for rush mode.
+     */
+    public OptionalInt findRemainingSeats(Long eventId) {
+        return eventRepository.findById(eventId)
+                .filter(TicketRushSequencer::isEligible)
+                .map(event -> OptionalInt.of(Math.max(0, event.getParticipantLimit() - event.getConfirmedRequests())))
+                .orElse(OptionalInt.empty());
+    }
+
+    /**
+     * Confirms the admitted users. Users turned away for lack of seats get no row, as on
+     * the regular path, so they can ask again once seats free up.
+     */
+    @Transactional
+    public List<ParticipationRequestDto> persist(Long eventId, List<Long> admitted) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new NotFoundException("Event not found"));
+
+        if (eventRepository.reserveSeats(eventId, admitted.size()) == 0) {
+            throw new ConflictException("Participant limit reached");
+        }
+
+        List<ParticipationRequest> requests = admitted.stream()
+                .map(userId -> toRequest(event, userId))
+                .collect(Collectors.toList());
+        requestRepository.saveAll(requests);
+
+        event.setConfirmedRequests(eventRepository.findConfirmedRequests(eventId));
+        eventPublisher.publishEvent(new EventChanged(event));
+
+        return requests.stream()
+                .map(requestMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private ParticipationRequest toRequest(Event event, Long userId) {
+        ParticipationRequest request = requestMapper.toEntity(event, userRepository.getReferenceById(userId));
+        request.setStatus(ParticipationRequest.Status.CONFIRMED);
+        return request;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package ru.practicum.admission;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.dto.ParticipationRequestDto;
+import ru.practicum.exception.ConflictException;
+import ru.practicum.exception.NotFoundException;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Single-writer admission queue of one hot event. Only the lane thread touches
+ * the remaining capacity and the set of known requesters, so deciding needs no
+ * locks; each drained batch is persisted in one transaction before the admitted
+ * callers are answered. Once the event changes elsewhere, the lane re-reads the
+ * remaining seats before its next batch; requests it can no longer decide are
+ * answered with null so the caller falls back to the regular path.
+ */
+@Slf4j
+class AdmissionLane {
+    private final Long eventId;
+    private final Long initiatorId;
+    private final AdmissionBatchWriter writer;
+    private final int batchSize;
+    private final BlockingQueue<Admission> queue;
+    private final Set<Long> requesters;
+
+    private int remaining;
+    private boolean admitting = true;
+    private boolean closed;
+    private volatile boolean stale;
+
+    AdmissionLane(Long eventId, Long initiatorId, int remaining, Collection<Long> requesters,
+                  AdmissionBatchWriter writer, int batchSize, int queueCapacity) {
+        this.eventId = eventId;
+        this.initiatorId = initiatorId;
+        this.remaining = remaining;
+        this.requesters = new HashSet<>(requesters);
+        this.writer = writer;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Queues a request; returns null once the lane is closed so the caller can
+     * fall back to the regular path.
+     */
+    synchronized CompletableFuture<ParticipationRequestDto> submit(Long userId) {
+        if (closed) {
+            return null;
+        }
+        Admission admission = new Admission(userId, new CompletableFuture<>());
+        if (!queue.offer(admission)) {
+            throw new ConflictException("Too many pending participation requests, try again later");
+        }
+        return admission.getResult();
+    }
+
+    synchronized void close() {
+        closed = true;
+    }
+
+    void refresh() {
+        stale = true;
+    }
+
+    private synchronized boolean isClosed() {
+        return closed;
+    }
+
+    void run() {
+        List<Admission> batch = new ArrayList<>(batchSize);
+        while (true) {
+            Admission first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                if (isClosed() && queue.isEmpty()) {
+                    log.info("Admission lane for event {} stopped, {} seats left", eventId, remaining);
+                    return;
+                }
+                continue;
+            }
+
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void process(List<Admission> batch) {
+        if (stale) {
+            reload();
+        }
+        if (!admitting) {
+            batch.forEach(admission -> admission.getResult().complete(null));
+            return;
+        }
+
+        Set<Long> existingUsers;
+        try {
+            existingUsers = writer.findExistingUsers(batch.stream()
+                    .map(Admission::getUserId)
+                    .collect(Collectors.toSet()));
+        } catch (RuntimeException e) {
+            batch.forEach(admission -> admission.getResult().completeExceptionally(e));
+            return;
+        }
+
+        List<Admission> admitted = new ArrayList<>();
+        for (Admission admission : batch) {
+            Long userId = admission.getUserId();
+            if (!existingUsers.contains(userId)) {
+                admission.getResult().completeExceptionally(new NotFoundException("User not found"));
+            } else if (userId.equals(initiatorId)) {
+                admission.getResult().completeExceptionally(
+                        new ConflictException("Initiator cannot request participation in own event"));
+            } else if (requesters.contains(userId)) {
+                admission.getResult().completeExceptionally(new ConflictException("Request already exists"));
+            } else if (remaining <= 0) {
+                admission.getResult().completeExceptionally(new ConflictException("Participant limit reached"));
+            } else {
+                requesters.add(userId);
+                remaining--;
+                admitted.add(admission);
+            }
+        }
+        if (admitted.isEmpty()) {
+            return;
+        }
+
+        List<Long> admittedIds = admitted.stream().map(Admission::getUserId).collect(Collectors.toList());
+        try {
+            List<ParticipationRequestDto> saved = writer.persist(eventId, admittedIds);
+            for (int i = 0; i < admitted.size(); i++) {
+                admitted.get(i).getResult().complete(saved.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Admission batch for event {} failed: {}", eventId, e.toString());
+            remaining += admitted.size();
+            admittedIds.forEach(requesters::remove);
+            admitted.forEach(admission -> admission.getResult().completeExceptionally(e));
+        }
+    }
+
+    private void reload() {
+        stale = false;
+        try {
+            OptionalInt seats = writer.findRemainingSeats(eventId);
+            admitting = seats.isPresent();
+            remaining = seats.orElse(0);
+        } catch (RuntimeException e) {
+            log.warn("Admission lane for event {} failed to reload: {}", eventId, e.toString());
+            stale = true;
+            return;
+        }
+        log.debug("Admission lane for event {} reloaded, {} seats left, admitting: {}", eventId, remaining, admitting);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Admission {
+        private final Long userId;
+        private final CompletableFuture<ParticipationRequestDto> result;
+    }
+}
\ No newline at end of file
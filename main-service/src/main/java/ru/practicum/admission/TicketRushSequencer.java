@@ -0,0 +1,131 @@
+package ru.practicum.admission;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.domain.EventChanged;
+import ru.practicum.dto.ParticipationRequestDto;
+import ru.practicum.entity.Event;
+import ru.practicum.exception.ConflictException;
+import ru.practicum.exception.NotFoundException;
+import ru.practicum.repository.EventRepository;
+import ru.practicum.repository.RequestRepository;
+
+import java.util.Map;
+import java.util.concurrent.*;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TicketRushSequencer {
+    private final EventRepository eventRepository;
+    private final RequestRepository requestRepository;
+    private final AdmissionBatchWriter writer;
+    private final ThreadPoolTaskExecutor admissionExecutor;
+
+    private final Map<Long, AdmissionLane> lanes = new ConcurrentHashMap<>();
+
+    @Value("${requests.rush.batch-size:200}")
+    private int batchSize;
+
+    @Value("${requests.rush.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${requests.rush.admit-timeout-ms:5000}")
+    private long admitTimeoutMs;
+
+    public synchronized void enable(Long eventId) {
+        if (lanes.containsKey(eventId)) {
+            return;
+        }
+
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new NotFoundException("Event not found"));
+        if (event.getState() != Event.EventState.PUBLISHED) {
+            throw new ConflictException("Cannot participate in unpublished event");
+        }
+        if (event.getParticipantLimit() == 0 || event.getRequestModeration()) {
+            throw new ConflictException("Ticket rush mode needs a participant limit and no request moderation");
+        }
+
+        int remaining = event.getParticipantLimit() - eventRepository.findConfirmedRequests(eventId);
+        AdmissionLane lane = new AdmissionLane(eventId, event.getInitiator().getId(), remaining,
+                requestRepository.findRequesterIdsByEventId(eventId), writer, batchSize, queueCapacity);
+        try {
+            admissionExecutor.execute(lane::run);
+        } catch (TaskRejectedException e) {
+            throw new ConflictException("Too many events in ticket rush mode");
+        }
+        lanes.put(eventId, lane);
+        log.info("Ticket rush mode enabled for event {} with {} seats left", eventId, remaining);
+    }
+
+    public synchronized void disable(Long eventId) {
+        AdmissionLane lane = lanes.remove(eventId);
+        if (lane != null) {
+            lane.close();
+            log.info("Ticket rush mode disabled for event {}", eventId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChanged changed) {
+        Event event = changed.getEvent();
+        AdmissionLane lane = lanes.get(event.getId());
+        if (lane == null) {
+            return;
+        }
+        lane.refresh();
+        if (!isEligible(event)) {
+            disable(event.getId());
+        }
+    }
+
+    static boolean isEligible(Event event) {
+        return event.getState() == Event.EventState.PUBLISHED
+                && event.getParticipantLimit() > 0
+                && !event.getRequestModeration();
+    }
+
+    /**
+     * Decides a participation request through the event's admission lane.
+     * Returns null for events without rush mode, which keep the regular path.
+     * A caller that is not answered within the admit timeout gets a conflict;
+     * its request may still be decided by the lane afterwards.
+     */
+    public ParticipationRequestDto tryAdmit(Long userId, Long eventId) {
+        AdmissionLane lane = lanes.get(eventId);
+        if (lane == null) {
+            return null;
+        }
+        CompletableFuture<ParticipationRequestDto> result = lane.submit(userId);
+        if (result == null) {
+            return null;
+        }
+        try {
+            return result.get(admitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ConflictException("Participation request is still being processed, try again later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Participation request was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+        lanes.values().forEach(AdmissionLane::close);
+        lanes.clear();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+package ru.practicum.bulk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Writes rows to the response one at a time. The response is only committed
+ * with the first row or on {@link #finish()}, so errors raised before any
+ * data is read still reach the regular error handler. CSV columns are taken
+ * from the first row, with nested objects flattened into dotted names such as
+ * {@code category.id}.
+ */
+public class ExportWriter implements Consumer<Object> {
+    private static final byte[] LINE_END = "\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final HttpServletResponse response;
+    private final ExportFormat format;
+    private final String name;
+
+    private OutputStream out;
+    private List<String> columns;
+    private long rows;
+
+    ExportWriter(ObjectMapper objectMapper, HttpServletResponse response, ExportFormat format, String name) {
+        this.objectMapper = objectMapper;
+        this.response = response;
+        this.format = format;
+        this.name = name;
+    }
+
+    @Override
+    public void accept(Object row) {
+        try {
+            begin();
+            if (format == ExportFormat.NDJSON) {
+                out.write(objectMapper.writeValueAsBytes(row));
+            } else {
+                writeCsv(objectMapper.valueToTree(row));
+            }
+            out.write(LINE_END);
+            rows++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long finish() {
+        try {
+            begin();
+            out.flush();
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void begin() throws IOException {
+        if (out != null) {
+            return;
+        }
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build()
+                .toString());
+        out = response.getOutputStream();
+    }
+
+    private void writeCsv(JsonNode row) throws IOException {
+        Map<String, String> values = new LinkedHashMap<>();
+        flatten("", row, values);
+        if (columns == null) {
+            columns = new ArrayList<>(values.keySet());
+            writeCsvLine(columns);
+            out.write(LINE_END);
+        }
+
+        List<String> line = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            line.add(values.getOrDefault(column, ""));
+        }
+        writeCsvLine(line);
+    }
+
+    private void flatten(String prefix, JsonNode node, Map<String, String> values) {
+        if (node instanceof ObjectNode) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                flatten(prefix + field.getKey() + ".", field.getValue(), values);
+            }
+            return;
+        }
+        String column = prefix.substring(0, prefix.length() - 1);
+        if (node == null || node.isNull()) {
+            values.put(column, "");
+        } else {
+            values.put(column, node.isValueNode() ? node.asText() : node.toString());
+        }
+    }
+
+    private void writeCsvLine(List<String> cells) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (String cell : cells) {
+            if (line.length() > 0) {
+                line.append(',');
+            }
+            if (cell.indexOf(',') >= 0 || cell.indexOf('"') >= 0
+                    || cell.indexOf('\n') >= 0 || cell.indexOf('\r') >= 0) {
+                line.append('"').append(cell.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(cell);
+            }
+        }
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package ru.practicum.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import ru.practicum.dto.ImportProgressDto;
+import ru.practicum.dto.ImportResultDto;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads newline-delimited JSON, validates every line on its own and hands the
+ * valid ones to the writer in chunks, one transaction per chunk. A chunk that
+ * fails as a whole is retried line by line, so a bad row only fails itself, and
+ * the persistence context is cleared after every chunk, as open-in-view shares it
+ * between chunks. A result line is streamed back for every input line, followed
+ * by a progress line after each chunk, so a caller can follow a long import and
+ * retry only the failed lines.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NdjsonImporter {
+    private static final byte[] LINE_END = "\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+
+    @Value("${imports.chunk-size:500}")
+    private int chunkSize;
+
+    public <T> ImportProgressDto run(InputStream in, OutputStream out, Class<T> type,
+                                     Function<List<T>, List<ImportResultDto>> writer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        ImportProgressDto progress = new ImportProgressDto();
+        List<Integer> lines = new ArrayList<>(chunkSize);
+        List<T> items = new ArrayList<>(chunkSize);
+
+        int lineNumber = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            lineNumber++;
+            if (text.isBlank()) {
+                continue;
+            }
+            progress.setProcessed(progress.getProcessed() + 1);
+
+            String error;
+            T item = null;
+            try {
+                item = objectMapper.readValue(text, type);
+                error = violations(item);
+            } catch (JsonProcessingException e) {
+                error = "Malformed JSON: " + e.getOriginalMessage();
+            }
+            if (error != null) {
+                report(out, progress, lineNumber, ImportResultDto.failed(error));
+                continue;
+            }
+
+            lines.add(lineNumber);
+            items.add(item);
+            if (items.size() >= chunkSize) {
+                flush(out, progress, lines, items, writer);
+            }
+        }
+        flush(out, progress, lines, items, writer);
+
+        progress.setDone(true);
+        writeLine(out, progress);
+        out.flush();
+        return progress;
+    }
+
+    private <T> void flush(OutputStream out, ImportProgressDto progress, List<Integer> lines, List<T> items,
+                           Function<List<T>, List<ImportResultDto>> writer) throws IOException {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        List<ImportResultDto> results;
+        try {
+            results = writer.apply(items);
+        } catch (RuntimeException e) {
+            log.warn("Import chunk of {} lines failed, retrying line by line: {}", items.size(), e.toString());
+            entityManager.clear();
+            results = new ArrayList<>(items.size());
+            for (T item : items) {
+                results.add(writeOne(item, writer));
+            }
+        } finally {
+            entityManager.clear();
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            report(out, progress, lines.get(i), results.get(i));
+        }
+        lines.clear();
+        items.clear();
+
+        writeLine(out, progress);
+        out.flush();
+    }
+
+    private <T> ImportResultDto writeOne(T item, Function<List<T>, List<ImportResultDto>> writer) {
+        try {
+            return writer.apply(List.of(item)).get(0);
+        } catch (RuntimeException e) {
+            entityManager.clear();
+            return ImportResultDto.failed(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private void report(OutputStream out, ImportProgressDto progress, int lineNumber,
+                        ImportResultDto result) throws IOException {
+        result.setLine(lineNumber);
+        if (result.getStatus() == ImportResultDto.ImportStatus.CREATED) {
+            progress.setCreated(progress.getCreated() + 1);
+        } else {
+            progress.setFailed(progress.getFailed() + 1);
+        }
+        writeLine(out, result);
+    }
+
+    private <T> String violations(T item) {
+        if (item == null) {
+            return "Line must be a JSON object";
+        }
+        String message = validator.validate(item).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return message.isEmpty() ? null : message;
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write(LINE_END);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package ru.practicum.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams query results straight into the response. Rows are read through a
+ * server-side cursor and the persistence context is cleared every few hundred
+ * rows, so memory stays flat however large the export is.
+ */
+@Component
+@RequiredArgsConstructor
+public class StreamingExporter {
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Value("${exports.clear-every:500}")
+    private int clearEvery;
+
+    public ExportWriter writer(HttpServletResponse response, String format, String name) {
+        return new ExportWriter(objectMapper, response, ExportFormat.of(format), name);
+    }
+
+    public <E, D> long drain(Stream<E> rows, Function<E, D> mapper, Consumer<? super D> sink) {
+        long count = 0;
+        try (rows) {
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(mapper.apply(iterator.next()));
+                if (++count % clearEvery == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
\ No newline at end of file
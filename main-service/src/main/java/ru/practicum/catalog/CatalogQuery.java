@@ -0,0 +1,22 @@
+package ru.practicum.catalog;
+
+import lombok.Builder;
+import lombok.Getter;
+import ru.practicum.geo.GeoArea;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Builder
+public class CatalogQuery {
+    private final List<Long> ids;
+    private final Map<Long, Double> scores;
+    private final List<Long> categories;
+    private final Boolean paid;
+    private final LocalDateTime rangeStart;
+    private final LocalDateTime rangeEnd;
+    private final boolean onlyAvailable;
+    private final GeoArea area;
+}
\ No newline at end of file
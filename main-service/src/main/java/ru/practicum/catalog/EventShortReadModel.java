@@ -0,0 +1,96 @@
+package ru.practicum.catalog;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.domain.CategoryChanged;
+import ru.practicum.domain.CommentChanged;
+import ru.practicum.domain.EventChanged;
+import ru.practicum.domain.UserDeleted;
+import ru.practicum.dto.EventShortDto;
+import ru.practicum.entity.Event;
+import ru.practicum.mapper.CategoryMapper;
+import ru.practicum.mapper.EventMapper;
+import ru.practicum.repository.EventRepository;
+import ru.practicum.repository.EventShortView;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventShortReadModel {
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+    private final CategoryMapper categoryMapper;
+
+    private final Map<Long, EventShortDto> published = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<EventShortView> events = eventRepository.findShortViewsByState(Event.EventState.PUBLISHED);
+        store(events);
+        published.keySet().retainAll(events.stream().map(EventShortView::getId).collect(Collectors.toSet()));
+        log.info("Event short read model loaded with {} events", published.size());
+    }
+
+    public List<EventShortDto> get(List<Long> eventIds) {
+        List<Long> missing = eventIds.stream()
+                .filter(id -> !published.containsKey(id))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            store(eventRepository.findShortViewsByStateAndIdIn(Event.EventState.PUBLISHED, missing));
+        }
+
+        List<EventShortDto> result = new ArrayList<>(eventIds.size());
+        for (Long eventId : eventIds) {
+            EventShortDto dto = published.get(eventId);
+            if (dto != null) {
+                result.add(dto.toBuilder().build());
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChanged changed) {
+        Long eventId = changed.getEvent().getId();
+        if (changed.getEvent().getState() != Event.EventState.PUBLISHED) {
+            published.remove(eventId);
+            return;
+        }
+        store(eventRepository.findShortViewsByStateAndIdIn(Event.EventState.PUBLISHED, List.of(eventId)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChanged changed) {
+        Long categoryId = changed.getCategory().getId();
+        published.replaceAll((id, dto) -> categoryId.equals(dto.getCategory().getId())
+                ? dto.toBuilder().category(categoryMapper.toDto(changed.getCategory())).build()
+                : dto);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChanged changed) {
+        if (changed.isCountChanged() && published.containsKey(changed.getEventId())) {
+            store(eventRepository.findShortViewsByStateAndIdIn(Event.EventState.PUBLISHED,
+                    List.of(changed.getEventId())));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeleted deleted) {
+        published.values().removeIf(dto -> deleted.getUserId().equals(dto.getInitiator().getId()));
+    }
+
+    private void store(List<EventShortView> events) {
+        for (EventShortView event : events) {
+            published.put(event.getId(), eventMapper.toShortDto(event));
+        }
+    }
+}
\ No newline at end of file
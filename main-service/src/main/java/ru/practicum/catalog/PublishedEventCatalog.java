@@ -0,0 +1,462 @@
+package ru.practicum.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.domain.EventChanged;
+import ru.practicum.entity.Event;
+import ru.practicum.geo.GeoArea;
+import ru.practicum.geo.GeoGrid;
+import ru.practicum.pagination.CursorPage;
+import ru.practicum.pagination.EventSort;
+import ru.practicum.pagination.PageCursor;
+import ru.practicum.repository.EventRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PublishedEventCatalog {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final EventRepository eventRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsByEventId = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    private final BitSet live = new BitSet();
+    private final BitSet paid = new BitSet();
+    private final BitSet available = new BitSet();
+    private final Map<Long, BitSet> byCategory = new HashMap<>();
+    private final Map<Long, BitSet> byCell = new HashMap<>();
+    private final Map<EventSort, int[]> orders = new EnumMap<>(EventSort.class);
+
+    private List<Runnable> changesDuringRebuild;
+
+    private int highWater;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] categoryIds = new long[INITIAL_CAPACITY];
+    private long[] eventDates = new long[INITIAL_CAPACITY];
+    private int[] participantLimits = new int[INITIAL_CAPACITY];
+    private int[] confirmedRequests = new int[INITIAL_CAPACITY];
+    private float[] lats = new float[INITIAL_CAPACITY];
+    private float[] lons = new float[INITIAL_CAPACITY];
+    private long[] views = new long[INITIAL_CAPACITY];
+    private long[] cells = new long[INITIAL_CAPACITY];
+
+    /**
+     * Reloads the catalog from the database. The snapshot is read without the lock, so
+     * changes that arrive meanwhile are applied live and replayed after the swap;
+     * otherwise the older snapshot would undo them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Event> events = null;
+        try {
+            events = eventRepository.findAllByState(Event.EventState.PUBLISHED);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (events != null) {
+                    load(events);
+                    changesDuringRebuild.forEach(Runnable::run);
+                }
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Published event catalog loaded with {} events", events.size());
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChanged changed) {
+        upsert(changed.getEvent());
+    }
+
+    public void upsert(Event event) {
+        lock.writeLock().lock();
+        try {
+            apply(event);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(() -> apply(event));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateViews(Map<Long, Long> viewsByEventId) {
+        Map<Long, Long> update = new HashMap<>(viewsByEventId);
+        lock.writeLock().lock();
+        try {
+            applyViews(update);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(() -> applyViews(update));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * ID, EVENT_DATE and VIEWS pages walk a presorted ordering of all slots with the
+     * filter bitset, so a page costs the slots it passes rather than a sort of all
+     * matches. An ordering is re-sorted only after a new slot or a change of its key;
+     * removed slots keep their old keys and are skipped. RELEVANCE and DISTANCE keys
+     * depend on the query and are ranked with a bounded top-k selection instead.
+     */
+    public CursorPage<Long> find(CatalogQuery query, EventSort sort, PageCursor after, int from, int size) {
+        if (sort == EventSort.RELEVANCE || sort == EventSort.DISTANCE) {
+            return findRanked(query, sort, after, from, size);
+        }
+
+        while (true) {
+            lock.readLock().lock();
+            try {
+                int[] order = orders.get(sort);
+                if (order != null) {
+                    return findOrdered(order, query, sort, after, from, size);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            lock.writeLock().lock();
+            try {
+                orders.computeIfAbsent(sort, this::sortedSlots);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void forEachLocated(GeoArea area, LocationVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = filter(CatalogQuery.builder().area(area).build());
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                if (area.contains(lats[slot], lons[slot])) {
+                    visitor.visit(ids[slot], lats[slot], lons[slot]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet filter(CatalogQuery query) {
+        BitSet matches = (BitSet) live.clone();
+
+        if (query.getCategories() != null) {
+            BitSet categories = new BitSet();
+            for (Long categoryId : query.getCategories()) {
+                BitSet bits = byCategory.get(categoryId);
+                if (bits != null) {
+                    categories.or(bits);
+                }
+            }
+            matches.and(categories);
+        }
+        if (query.getPaid() != null) {
+            if (query.getPaid()) {
+                matches.and(paid);
+            } else {
+                matches.andNot(paid);
+            }
+        }
+        if (query.isOnlyAvailable()) {
+            matches.and(available);
+        }
+        if (query.getArea() != null) {
+            List<Long> areaCells = GeoGrid.cellsOf(query.getArea());
+            if (areaCells != null) {
+                BitSet located = new BitSet();
+                for (Long cell : areaCells) {
+                    BitSet bits = byCell.get(cell);
+                    if (bits != null) {
+                        located.or(bits);
+                    }
+                }
+                matches.and(located);
+            }
+        }
+        if (query.getIds() != null) {
+            BitSet requested = new BitSet();
+            for (Long eventId : query.getIds()) {
+                Integer slot = slotsByEventId.get(eventId);
+                if (slot != null) {
+                    requested.set(slot);
+                }
+            }
+            matches.and(requested);
+        }
+        return matches;
+    }
+
+    private CursorPage<Long> findOrdered(int[] order, CatalogQuery query, EventSort sort, PageCursor after,
+                                         int from, int size) {
+        BitSet matches = filter(query);
+        long start = toEpochSecond(query.getRangeStart());
+        long end = toEpochSecond(query.getRangeEnd());
+        GeoArea area = query.getArea();
+
+        int skip = after != null ? 0 : from;
+        List<Integer> page = new ArrayList<>(size);
+        for (int i = after != null ? seek(order, sort, after) : 0; i < order.length && page.size() < size; i++) {
+            int slot = order[i];
+            if (!matches.get(slot) || !isInside(slot, start, end, area)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            page.add(slot);
+        }
+
+        List<Long> pageIds = new ArrayList<>(page.size());
+        page.forEach(slot -> pageIds.add(ids[slot]));
+        return new CursorPage<>(pageIds, CursorPage.nextCursor(page, size, slot -> cursorOf(slot, sort)));
+    }
+
+    private CursorPage<Long> findRanked(CatalogQuery query, EventSort sort, PageCursor after, int from, int size) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = filter(query);
+            long start = toEpochSecond(query.getRangeStart());
+            long end = toEpochSecond(query.getRangeEnd());
+            GeoArea area = query.getArea();
+
+            int limit = after != null ? size : from + size;
+            double afterKey = after != null ? after.keyAsDouble() : 0;
+            Comparator<Ranked> byRank = (a, b) -> sort.compareRank(a.getKey(), ids[a.getSlot()],
+                    b.getKey(), ids[b.getSlot()]);
+            PriorityQueue<Ranked> top = new PriorityQueue<>(byRank.reversed());
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                if (!isInside(slot, start, end, area)) {
+                    continue;
+                }
+                double key = sort == EventSort.RELEVANCE
+                        ? query.getScores().get(ids[slot])
+                        : area.distanceKm(lats[slot], lons[slot]);
+                if (after != null && sort.compareRank(key, ids[slot], afterKey, after.getId()) <= 0) {
+                    continue;
+                }
+                if (top.size() < limit) {
+                    top.add(new Ranked(slot, key));
+                } else if (sort.compareRank(key, ids[slot], top.peek().getKey(), ids[top.peek().getSlot()]) < 0) {
+                    top.poll();
+                    top.add(new Ranked(slot, key));
+                }
+            }
+
+            List<Ranked> ranked = new ArrayList<>(top);
+            ranked.sort(byRank);
+            List<Ranked> page = ranked.subList(Math.min(after != null ? 0 : from, ranked.size()), ranked.size());
+            List<Long> pageIds = new ArrayList<>(page.size());
+            page.forEach(entry -> pageIds.add(ids[entry.getSlot()]));
+            return new CursorPage<>(pageIds, CursorPage.nextCursor(page, size,
+                    entry -> PageCursor.of(sort.name(), entry.getKey(), ids[entry.getSlot()])));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void load(List<Event> events) {
+        Set<Long> publishedIds = new HashSet<>();
+        events.forEach(event -> publishedIds.add(event.getId()));
+        new ArrayList<>(slotsByEventId.keySet()).stream()
+                .filter(eventId -> !publishedIds.contains(eventId))
+                .forEach(this::removeSlot);
+        events.forEach(this::apply);
+    }
+
+    private void apply(Event event) {
+        if (event.getState() != Event.EventState.PUBLISHED) {
+            removeSlot(event.getId());
+            return;
+        }
+
+        Integer slot = slotsByEventId.get(event.getId());
+        long eventDate = toEpochSecond(event.getEventDate());
+        long eventViews = event.getViews() != null ? event.getViews() : 0L;
+        if (slot == null) {
+            slot = allocateSlot();
+            slotsByEventId.put(event.getId(), slot);
+            live.set(slot);
+            orders.clear();
+        } else {
+            byCategory.get(categoryIds[slot]).clear(slot);
+            clearCell(slot);
+            if (eventDates[slot] != eventDate) {
+                orders.remove(EventSort.EVENT_DATE);
+            }
+            if (views[slot] != eventViews) {
+                orders.remove(EventSort.VIEWS);
+            }
+        }
+
+        ids[slot] = event.getId();
+        categoryIds[slot] = event.getCategory().getId();
+        byCategory.computeIfAbsent(categoryIds[slot], k -> new BitSet()).set(slot);
+        paid.set(slot, Boolean.TRUE.equals(event.getPaid()));
+        eventDates[slot] = eventDate;
+        participantLimits[slot] = event.getParticipantLimit() != null ? event.getParticipantLimit() : 0;
+        confirmedRequests[slot] = event.getConfirmedRequests() != null ? event.getConfirmedRequests() : 0;
+        available.set(slot, participantLimits[slot] == 0 || confirmedRequests[slot] < participantLimits[slot]);
+        lats[slot] = event.getLocation() != null && event.getLocation().getLat() != null
+                ? event.getLocation().getLat() : Float.NaN;
+        lons[slot] = event.getLocation() != null && event.getLocation().getLon() != null
+                ? event.getLocation().getLon() : Float.NaN;
+        views[slot] = eventViews;
+        cells[slot] = GeoGrid.cellOf(lats[slot], lons[slot]);
+        if (cells[slot] != GeoGrid.NO_CELL) {
+            byCell.computeIfAbsent(cells[slot], k -> new BitSet()).set(slot);
+        }
+    }
+
+    private void applyViews(Map<Long, Long> viewsByEventId) {
+        viewsByEventId.forEach((eventId, count) -> {
+            Integer slot = slotsByEventId.get(eventId);
+            if (slot != null) {
+                views[slot] = count;
+            }
+        });
+        orders.remove(EventSort.VIEWS);
+    }
+
+    private int[] sortedSlots(EventSort sort) {
+        return live.stream()
+                .boxed()
+                .sorted(comparator(sort))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Position of the first slot in the ordering that comes after the cursor.
+     */
+    private int seek(int[] order, EventSort sort, PageCursor after) {
+        long key = sort == EventSort.EVENT_DATE ? toEpochSecond(after.keyAsDateTime())
+                : sort == EventSort.VIEWS ? after.keyAsLong() : 0L;
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (isAfter(order[mid], sort, key, after.getId())) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private boolean isAfter(int slot, EventSort sort, long key, long afterId) {
+        if (sort == EventSort.EVENT_DATE) {
+            return eventDates[slot] > key || (eventDates[slot] == key && ids[slot] > afterId);
+        } else if (sort == EventSort.VIEWS) {
+            return views[slot] < key || (views[slot] == key && ids[slot] > afterId);
+        }
+        return ids[slot] > afterId;
+    }
+
+    private boolean isInside(int slot, long start, long end, GeoArea area) {
+        return eventDates[slot] >= start && eventDates[slot] <= end
+                && (area == null || area.contains(lats[slot], lons[slot]));
+    }
+
+    private Comparator<Integer> comparator(EventSort sort) {
+        Comparator<Integer> byId = Comparator.comparingLong(slot -> ids[slot]);
+        if (sort == EventSort.EVENT_DATE) {
+            return Comparator.<Integer>comparingLong(slot -> eventDates[slot]).thenComparing(byId);
+        } else if (sort == EventSort.VIEWS) {
+            return Comparator.<Integer>comparingLong(slot -> -views[slot]).thenComparing(byId);
+        }
+        return byId;
+    }
+
+    private int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (highWater == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+            eventDates = Arrays.copyOf(eventDates, capacity);
+            participantLimits = Arrays.copyOf(participantLimits, capacity);
+            confirmedRequests = Arrays.copyOf(confirmedRequests, capacity);
+            lats = Arrays.copyOf(lats, capacity);
+            lons = Arrays.copyOf(lons, capacity);
+            views = Arrays.copyOf(views, capacity);
+            cells = Arrays.copyOf(cells, capacity);
+        }
+        return highWater++;
+    }
+
+    private PageCursor cursorOf(int slot, EventSort sort) {
+        Object key = null;
+        if (sort == EventSort.EVENT_DATE) {
+            key = LocalDateTime.ofEpochSecond(eventDates[slot], 0, ZoneOffset.UTC);
+        } else if (sort == EventSort.VIEWS) {
+            key = views[slot];
+        }
+        return PageCursor.of(sort.name(), key, ids[slot]);
+    }
+
+    private void removeSlot(Long eventId) {
+        Integer slot = slotsByEventId.remove(eventId);
+        if (slot == null) {
+            return;
+        }
+        live.clear(slot);
+        paid.clear(slot);
+        available.clear(slot);
+        byCategory.get(categoryIds[slot]).clear(slot);
+        clearCell(slot);
+        freeSlots.push(slot);
+    }
+
+    private void clearCell(int slot) {
+        if (cells[slot] != GeoGrid.NO_CELL) {
+            byCell.get(cells[slot]).clear(slot);
+        }
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public interface LocationVisitor {
+        void visit(long eventId, double lat, double lon);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Ranked {
+        private final int slot;
+        private final double key;
+    }
+}
\ No newline at end of file
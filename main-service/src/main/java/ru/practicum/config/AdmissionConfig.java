@@ -0,0 +1,29 @@
+package ru.practicum.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AdmissionConfig {
+
+    /**
+     * One long-running writer thread per event in ticket rush mode; on context close the
+     * sequencer closes its lanes first and the pool waits for them to drain their queues.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor admissionExecutor(@Value("${requests.rush.max-lanes:16}") int maxLanes,
+                                                    @Value("${requests.rush.shutdown-timeout-seconds:30}")
+                                                    int shutdownTimeout) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxLanes);
+        executor.setMaxPoolSize(maxLanes);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("admission-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(shutdownTimeout);
+        executor.initialize();
+        return executor;
+    }
+}
\ No newline at end of file
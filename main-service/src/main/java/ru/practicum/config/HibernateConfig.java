@@ -0,0 +1,38 @@
+package ru.practicum.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.id.SequenceMismatchStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.entity.PooledSequenceGenerator;
+import ru.practicum.monitoring.QueryCountInspector;
+
+@Configuration
+public class HibernateConfig {
+
+    @Value("${persistence.id-allocation-size:50}")
+    private int idAllocationSize;
+
+    @Value("${persistence.jdbc-batch-size:50}")
+    private int jdbcBatchSize;
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer batchingCustomizer() {
+        return properties -> {
+            properties.put(PooledSequenceGenerator.ALLOCATION_SIZE, idAllocationSize);
+            // SequenceAligner brings the database increment in line right after startup
+            properties.put(AvailableSettings.SEQUENCE_INCREMENT_SIZE_MISMATCH_STRATEGY, SequenceMismatchStrategy.LOG);
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, jdbcBatchSize);
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+            properties.put(AvailableSettings.BATCH_VERSIONED_DATA, true);
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package ru.practicum.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import ru.practicum.reaction.MergeReactionStore;
+import ru.practicum.reaction.PostgresReactionStore;
+import ru.practicum.reaction.ReactionStore;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+@Configuration
+@Slf4j
+public class ReactionConfig {
+
+    @Bean
+    public ReactionStore reactionStore(DataSource dataSource,
+                                       NamedParameterJdbcTemplate jdbcTemplate,
+                                       @Value("${persistence.id-allocation-size:50}") int idAllocationSize)
+            throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if ("PostgreSQL".equals(product)) {
+            log.info("Using INSERT ... ON CONFLICT for comment reactions");
+            return new PostgresReactionStore(jdbcTemplate, idAllocationSize);
+        }
+        log.info("Using MERGE for comment reactions on {}", product);
+        return new MergeReactionStore(jdbcTemplate, idAllocationSize);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package ru.practicum.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import ru.practicum.repository.EventRepository;
+import ru.practicum.search.EventSearchIndex;
+import ru.practicum.search.InMemoryEventSearchIndex;
+import ru.practicum.search.PostgresEventSearchIndex;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+@Configuration
+@Slf4j
+public class SearchConfig {
+
+    @Bean
+    public EventSearchIndex eventSearchIndex(DataSource dataSource,
+                                             NamedParameterJdbcTemplate jdbcTemplate,
+                                             EventRepository eventRepository) throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if ("PostgreSQL".equals(product)) {
+            log.info("Using PostgreSQL full-text search for events");
+            return new PostgresEventSearchIndex(jdbcTemplate);
+        }
+        log.info("Using in-memory search index for events on {}", product);
+        return new InMemoryEventSearchIndex(eventRepository);
+    }
+}
\ No newline at end of file
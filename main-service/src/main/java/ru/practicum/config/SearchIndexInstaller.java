@@ -0,0 +1,27 @@
+package ru.practicum.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.search.EventSearchIndex;
+import ru.practicum.search.PostgresEventSearchIndex;
+
+/**
+ * Creates the full-text index once the application is up. Like the sequence
+ * alignment, this is DDL, so the read-only public tier never runs it.
+ */
+@Component
+@ConditionalOnProperty(name = "public-read.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SearchIndexInstaller {
+    private final EventSearchIndex searchIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void install() {
+        if (searchIndex instanceof PostgresEventSearchIndex postgresIndex) {
+            postgresIndex.createIndex();
+        }
+    }
+}
\ No newline at end of file
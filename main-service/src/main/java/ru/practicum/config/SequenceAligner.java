@@ -0,0 +1,60 @@
+package ru.practicum.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the id sequences ahead of rows that were inserted before the move from
+ * identity columns, and applies the configured allocation size as the sequence
+ * increment. Runs before the web server accepts requests; the read-only public
+ * tier neither inserts rows nor may run DDL, so it skips the alignment.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "public-read.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SequenceAligner {
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${persistence.id-allocation-size:50}")
+    private int idAllocationSize;
+
+    @PostConstruct
+    public void align() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (!(persister.getGenerator() instanceof SequenceStyleGenerator generator)
+                    || !(persister instanceof AbstractEntityPersister entityPersister)) {
+                return;
+            }
+            String sequence = generator.getDatabaseStructure().getPhysicalName().render();
+            String table = entityPersister.getIdentifierTableName();
+            String idColumn = entityPersister.getIdentifierColumnNames()[0];
+
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + idAllocationSize);
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(" + idColumn + ") FROM " + table, Long.class);
+            if (maxId == null) {
+                return;
+            }
+            Long next = jdbcTemplate.queryForObject(
+                    dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+            if (next != null && next <= maxId) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + 1));
+                log.info("Sequence {} moved past existing id {} of table {}", sequence, maxId, table);
+            }
+        });
+    }
+}
\ No newline at end of file
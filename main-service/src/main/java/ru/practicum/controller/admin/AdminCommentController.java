@@ -1,14 +1,18 @@
 package ru.practicum.controller.admin;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.bulk.ExportWriter;
+import ru.practicum.bulk.StreamingExporter;
 import ru.practicum.dto.comment.CommentDto;
 import ru.practicum.dto.comment.UpdateCommentAdminRequest;
 import ru.practicum.entity.CommentStatus;
+import ru.practicum.pagination.CursorPage;
 import ru.practicum.service.CommentService;
 
 import java.util.List;
@@ -21,6 +25,7 @@ import java.util.stream.Collectors;
 public class AdminCommentController {
 
     private final CommentService commentService;
+    private final StreamingExporter exporter;
 
     @GetMapping
     public List<CommentDto> getComments(
@@ -28,11 +33,13 @@ public class AdminCommentController {
             @RequestParam(required = false) List<Long> events,
             @RequestParam(required = false) List<String> statuses,
             @RequestParam(required = false) String text,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") @Min(0) Integer from,
-            @RequestParam(defaultValue = "10") @Min(1) Integer size) {
+            @RequestParam(defaultValue = "10") @Min(1) Integer size,
+            HttpServletResponse response) {
 
-        log.info("Admin: поиск комментариев: users={}, events={}, statuses={}, text={}, from={}, size={}",
-                users, events, statuses, text, from, size);
+        log.info("Admin: поиск комментариев: users={}, events={}, statuses={}, text={}, cursor={}, from={}, size={}",
+                users, events, statuses, text, cursor, from, size);
 
         List<CommentStatus> statusList = null;
         if (statuses != null && !statuses.isEmpty()) {
@@ -41,7 +48,33 @@ public class AdminCommentController {
                     .collect(Collectors.toList());
         }
 
-        return commentService.getAdminComments(users, events, statusList, text, from, size);
+        CursorPage<CommentDto> page = commentService.getAdminComments(users, events, statusList, text,
+                cursor, from, size);
+        return page.toResponse(response);
+    }
+
+    @GetMapping("/export")
+    public void exportComments(
+            @RequestParam(required = false) List<Long> users,
+            @RequestParam(required = false) List<Long> events,
+            @RequestParam(required = false) List<String> statuses,
+            @RequestParam(required = false) String text,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) {
+
+        log.info("Admin: выгрузка комментариев в формате {}: users={}, events={}, statuses={}, text={}",
+                format, users, events, statuses, text);
+
+        List<CommentStatus> statusList = null;
+        if (statuses != null && !statuses.isEmpty()) {
+            statusList = statuses.stream()
+                    .map(CommentStatus::valueOf)
+                    .collect(Collectors.toList());
+        }
+
+        ExportWriter writer = exporter.writer(response, format, "comments");
+        commentService.exportAdminComments(users, events, statusList, text, writer);
+        log.info("Выгружено комментариев: {}", writer.finish());
     }
 
     @PatchMapping("/{commentId}")
@@ -1,13 +1,20 @@
 package ru.practicum.controller.admin;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.admission.TicketRushSequencer;
+import ru.practicum.bulk.ExportWriter;
+import ru.practicum.bulk.StreamingExporter;
 import ru.practicum.dto.EventFullDto;
 import ru.practicum.dto.UpdateEventAdminRequest;
 import ru.practicum.entity.Event;
+import ru.practicum.pagination.CursorPage;
+import ru.practicum.pagination.PageCursor;
 import ru.practicum.service.EventService;
 
 
@@ -21,6 +28,8 @@ import java.util.List;
 public class AdminEventController {
 
     private final EventService eventService;
+    private final TicketRushSequencer rushSequencer;
+    private final StreamingExporter exporter;
 
     @GetMapping
     public List<EventFullDto> getEvents(
@@ -31,13 +40,42 @@ public class AdminEventController {
             @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeStart,
             @RequestParam(required = false)
             @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeEnd,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            HttpServletResponse response) {
 
-        log.info("Admin: поиск событий: users={}, states={}, categories={}, rangeStart={}, rangeEnd={}, from={}, size={}",
-                users, states, categories, rangeStart, rangeEnd, from, size);
+        log.info("Admin: поиск событий: users={}, states={}, categories={}, rangeStart={}, rangeEnd={}, cursor={}, from={}, size={}",
+                users, states, categories, rangeStart, rangeEnd, cursor, from, size);
 
-        return eventService.getAdminEvents(users, states, categories, rangeStart, rangeEnd, from, size);
+        CursorPage<EventFullDto> page = eventService.getAdminEvents(users, states, categories,
+                rangeStart, rangeEnd, cursor, from, size);
+        if (withTotal) {
+            response.setHeader(PageCursor.TOTAL_COUNT_HEADER, String.valueOf(
+                    eventService.countAdminEvents(users, states, categories, rangeStart, rangeEnd)));
+        }
+        return page.toResponse(response);
+    }
+
+    @GetMapping("/export")
+    public void exportEvents(
+            @RequestParam(required = false) List<Long> users,
+            @RequestParam(required = false) List<Event.EventState> states,
+            @RequestParam(required = false) List<Long> categories,
+            @RequestParam(required = false)
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeStart,
+            @RequestParam(required = false)
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeEnd,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) {
+
+        log.info("Admin: выгрузка событий в формате {}: users={}, states={}, categories={}, rangeStart={}, rangeEnd={}",
+                format, users, states, categories, rangeStart, rangeEnd);
+
+        ExportWriter writer = exporter.writer(response, format, "events");
+        eventService.exportAdminEvents(users, states, categories, rangeStart, rangeEnd, writer);
+        log.info("Выгружено событий: {}", writer.finish());
     }
 
     @PatchMapping("/{eventId}")
@@ -46,4 +84,18 @@ public class AdminEventController {
         log.info("Admin: обновление события с id={}, запрос: {}", eventId, updateRequest);
         return eventService.updateEventByAdmin(eventId, updateRequest);
     }
+
+    @PutMapping("/{eventId}/rush")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void enableTicketRush(@PathVariable Long eventId) {
+        log.info("Admin: включение режима ажиотажного спроса для события id={}", eventId);
+        rushSequencer.enable(eventId);
+    }
+
+    @DeleteMapping("/{eventId}/rush")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void disableTicketRush(@PathVariable Long eventId) {
+        log.info("Admin: отключение режима ажиотажного спроса для события id={}", eventId);
+        rushSequencer.disable(eventId);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package ru.practicum.controller.admin;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.bulk.NdjsonImporter;
+import ru.practicum.dto.EventImportDto;
+import ru.practicum.dto.ImportProgressDto;
+import ru.practicum.dto.NewCategoryDto;
+import ru.practicum.dto.NewUserRequest;
+import ru.practicum.service.CategoryService;
+import ru.practicum.service.EventService;
+import ru.practicum.service.UserService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+@RestController
+@RequestMapping("/admin/import")
+@RequiredArgsConstructor
+public class AdminImportController {
+    private final NdjsonImporter importer;
+    private final UserService userService;
+    private final CategoryService categoryService;
+    private final EventService eventService;
+
+    @PostMapping(value = "/users", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("Admin: импорт пользователей");
+        startStream(response);
+        ImportProgressDto progress = importer.run(request.getInputStream(), response.getOutputStream(),
+                NewUserRequest.class, userService::importUsers);
+        log.info("Импорт пользователей завершён: {}", progress);
+    }
+
+    @PostMapping(value = "/categories", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importCategories(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("Admin: импорт категорий");
+        startStream(response);
+        ImportProgressDto progress = importer.run(request.getInputStream(), response.getOutputStream(),
+                NewCategoryDto.class, categoryService::importCategories);
+        log.info("Импорт категорий завершён: {}", progress);
+    }
+
+    @PostMapping(value = "/events", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importEvents(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("Admin: импорт событий");
+        startStream(response);
+        ImportProgressDto progress = importer.run(request.getInputStream(), response.getOutputStream(),
+                EventImportDto.class, eventService::importEvents);
+        log.info("Импорт событий завершён: {}", progress);
+    }
+
+    private void startStream(HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ru.practicum.controller.privating;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
@@ -7,8 +8,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.dto.comment.CommentDto;
+import ru.practicum.dto.comment.CommentReactionDto;
 import ru.practicum.dto.comment.NewCommentDto;
 import ru.practicum.dto.comment.UpdateCommentRequest;
+import ru.practicum.pagination.CursorPage;
 import ru.practicum.service.CommentService;
 import ru.practicum.service.CommentReactionService;
 import ru.practicum.entity.ReactionType;
@@ -64,6 +67,14 @@ public class PrivateCommentController {
         reactionService.addReaction(userId, commentId, ReactionType.DISLIKE);
     }
 
+    @PutMapping("/{commentId}/reaction")
+    public CommentReactionDto react(@PathVariable Long userId,
+                                    @PathVariable Long commentId,
+                                    @RequestParam ReactionType type) {
+        log.info("User {} ставит реакцию {} комментарию {}", userId, type, commentId);
+        return reactionService.react(userId, commentId, type);
+    }
+
     @DeleteMapping("/{commentId}/reaction")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void removeReaction(@PathVariable Long userId,
@@ -75,9 +86,12 @@ public class PrivateCommentController {
     @GetMapping
     public List<CommentDto> getUserComments(
             @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") @Min(0) Integer from,
-            @RequestParam(defaultValue = "10") @Min(1) Integer size) {
-        log.info("Получение комментариев пользователя {}, from={}, size={}", userId, from, size);
-        return commentService.getUserComments(userId, from, size);
+            @RequestParam(defaultValue = "10") @Min(1) Integer size,
+            HttpServletResponse response) {
+        log.info("Получение комментариев пользователя {}, cursor={}, from={}, size={}", userId, cursor, from, size);
+        CursorPage<CommentDto> page = commentService.getUserComments(userId, cursor, from, size);
+        return page.toResponse(response);
     }
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package ru.practicum.controller.privating;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.bulk.ExportWriter;
+import ru.practicum.bulk.StreamingExporter;
 import ru.practicum.dto.*;
+import ru.practicum.pagination.CursorPage;
 import ru.practicum.service.EventService;
 import ru.practicum.service.RequestService;
 
@@ -21,6 +25,7 @@ public class PrivateEventController {
 
     private final EventService eventService;
     private final RequestService requestService; // Добавили
+    private final StreamingExporter exporter;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -32,10 +37,13 @@ public class PrivateEventController {
 
     @GetMapping
     public List<EventShortDto> getEventsByUser(@PathVariable Long userId,
+                                               @RequestParam(required = false) String cursor,
                                                @RequestParam(defaultValue = "0") @Min(0) Integer from,
-                                               @RequestParam(defaultValue = "10") @Min(1) Integer size) {
+                                               @RequestParam(defaultValue = "10") @Min(1) Integer size,
+                                               HttpServletResponse response) {
         log.info("User {} запрашивает свои события", userId);
-        return eventService.getEventsByInitiator(userId, from, size);
+        CursorPage<EventShortDto> page = eventService.getEventsByInitiator(userId, cursor, from, size);
+        return page.toResponse(response);
     }
 
     @GetMapping("/{eventId}")
@@ -60,6 +68,17 @@ public class PrivateEventController {
         return requestService.getEventParticipants(userId, eventId);
     }
 
+    @GetMapping("/{eventId}/requests/export")
+    public void exportEventParticipants(@PathVariable Long userId,
+                                        @PathVariable Long eventId,
+                                        @RequestParam(defaultValue = "ndjson") String format,
+                                        HttpServletResponse response) {
+        log.info("User {} выгружает участников события {} в формате {}", userId, eventId, format);
+        ExportWriter writer = exporter.writer(response, format, "event-" + eventId + "-requests");
+        requestService.exportEventParticipants(userId, eventId, writer);
+        log.info("Выгружено заявок: {}", writer.finish());
+    }
+
     @PatchMapping("/{eventId}/requests")
     public EventRequestStatusUpdateResult updateRequestStatus(
             @PathVariable Long userId,
@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.admission.TicketRushSequencer;
 import ru.practicum.dto.ParticipationRequestDto;
 import ru.practicum.service.RequestService;
 
@@ -18,6 +19,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PrivateRequestController {
     private final RequestService requestService;
+    private final TicketRushSequencer rushSequencer;
 
     @GetMapping
     public List<ParticipationRequestDto> getUserRequests(@PathVariable @Positive Long userId) {
@@ -32,7 +34,8 @@ public class PrivateRequestController {
             @RequestParam(name = "eventId", required = true) @Positive Long eventId) {
 
         log.info("POST /users/{}/requests?eventId={} - создание запроса на участие", userId, eventId);
-        return requestService.createParticipationRequest(userId, eventId);
+        ParticipationRequestDto admitted = rushSequencer.tryAdmit(userId, eventId);
+        return admitted != null ? admitted : requestService.createParticipationRequest(userId, eventId);
     }
 
     @PatchMapping("/{requestId}/cancel")
@@ -1,13 +1,14 @@
 package ru.practicum.controller.publicing;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
-import ru.practicum.dto.CategoryDto;
 import ru.practicum.service.CategoryService;
-
-import java.util.List;
+import ru.practicum.versioning.JsonResponseCache;
+import ru.practicum.versioning.ResourceVersions;
 
 @Slf4j
 @RestController
@@ -16,19 +17,26 @@ import java.util.List;
 public class PublicCategoryController {
 
     private final CategoryService categoryService;
+    private final JsonResponseCache responseCache;
 
     @GetMapping
-    public List<CategoryDto> getCategories(
+    public void getCategories(
             @RequestParam(defaultValue = "0") @Min(0) Integer from,
-            @RequestParam(defaultValue = "10") @Min(1) Integer size) {
+            @RequestParam(defaultValue = "10") @Min(1) Integer size,
+            HttpServletRequest request,
+            HttpServletResponse response) {
 
         log.info("Public: получение категорий, from={}, size={}", from, size);
-        return categoryService.getCategories(from, size);
+        responseCache.serve(request, response,
+                () -> categoryService.getCategories(from, size), ResourceVersions.CATEGORIES);
     }
 
     @GetMapping("/{catId}")
-    public CategoryDto getCategory(@PathVariable Long catId) {
+    public void getCategory(@PathVariable Long catId,
+                            HttpServletRequest request,
+                            HttpServletResponse response) {
         log.info("Public: получение категории с id={}", catId);
-        return categoryService.getCategory(catId);
+        responseCache.serve(request, response,
+                () -> categoryService.getCategory(catId), ResourceVersions.category(catId));
     }
 }
\ No newline at end of file
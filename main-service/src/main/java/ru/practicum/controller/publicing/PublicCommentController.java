@@ -1,11 +1,16 @@
 package ru.practicum.controller.publicing;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.dto.comment.CommentDto;
+import ru.practicum.dto.comment.CommentTreeDto;
+import ru.practicum.pagination.CursorPage;
 import ru.practicum.service.CommentService;
+import ru.practicum.versioning.ResourceVersions;
 
 import java.util.List;
 
@@ -16,32 +21,66 @@ import java.util.List;
 public class PublicCommentController {
 
     private final CommentService commentService;
+    private final ResourceVersions versions;
 
     @GetMapping("/{commentId}")
-    public CommentDto getComment(@PathVariable Long commentId) {
+    public CommentDto getComment(@PathVariable Long commentId, WebRequest webRequest) {
         log.info("Public: получение комментария с id={}", commentId);
+        if (versions.checkNotModified(webRequest, ResourceVersions.COMMENTS)) {
+            return null;
+        }
         return commentService.getCommentById(commentId);
     }
 
     @GetMapping("/event/{eventId}")
     public List<CommentDto> getEventComments(
             @PathVariable Long eventId,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") @Min(0) Integer from,
-            @RequestParam(defaultValue = "10") @Min(1) Integer size) {
+            @RequestParam(defaultValue = "10") @Min(1) Integer size,
+            HttpServletResponse response,
+            WebRequest webRequest) {
 
-        log.info("Public: получение комментариев события id={}, from={}, size={}",
-                eventId, from, size);
-        return commentService.getEventComments(eventId, from, size);
+        log.info("Public: получение комментариев события id={}, cursor={}, from={}, size={}",
+                eventId, cursor, from, size);
+        if (versions.checkNotModified(webRequest, ResourceVersions.eventComments(eventId))) {
+            return null;
+        }
+        CursorPage<CommentDto> page = commentService.getEventComments(eventId, cursor, from, size);
+        return page.toResponse(response);
+    }
+
+    @GetMapping("/event/{eventId}/tree")
+    public List<CommentTreeDto> getEventCommentTree(
+            @PathVariable Long eventId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(defaultValue = "10") @Min(1) Integer size,
+            @RequestParam(defaultValue = "3") @Min(0) Integer replies,
+            HttpServletResponse response,
+            WebRequest webRequest) {
+
+        log.info("Public: получение дерева комментариев события id={}, cursor={}, from={}, size={}, replies={}",
+                eventId, cursor, from, size, replies);
+        if (versions.checkNotModified(webRequest, ResourceVersions.eventComments(eventId))) {
+            return null;
+        }
+        CursorPage<CommentTreeDto> page = commentService.getEventCommentTree(eventId, cursor, from, size, replies);
+        return page.toResponse(response);
     }
 
     @GetMapping("/{commentId}/replies")
     public List<CommentDto> getCommentReplies(
             @PathVariable Long commentId,
             @RequestParam(defaultValue = "0") @Min(0) Integer from,
-            @RequestParam(defaultValue = "10") @Min(1) Integer size) {
+            @RequestParam(defaultValue = "10") @Min(1) Integer size,
+            WebRequest webRequest) {
 
         log.info("Public: получение ответов на комментарий id={}, from={}, size={}",
                 commentId, from, size);
+        if (versions.checkNotModified(webRequest, ResourceVersions.COMMENTS)) {
+            return null;
+        }
         return commentService.getCommentReplies(commentId, from, size);
     }
 }
\ No newline at end of file
@@ -1,13 +1,14 @@
 package ru.practicum.controller.publicing;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
-import ru.practicum.dto.CompilationDto;
 import ru.practicum.service.CompilationService;
-
-import java.util.List;
+import ru.practicum.versioning.JsonResponseCache;
+import ru.practicum.versioning.ResourceVersions;
 
 @Slf4j
 @RestController
@@ -16,20 +17,27 @@ import java.util.List;
 public class PublicCompilationController {
 
     private final CompilationService compilationService;
+    private final JsonResponseCache responseCache;
 
     @GetMapping
-    public List<CompilationDto> getCompilations(
+    public void getCompilations(
             @RequestParam(required = false) Boolean pinned,
             @RequestParam(defaultValue = "0") @Min(0) Integer from,
-            @RequestParam(defaultValue = "10") @Min(1) Integer size) {
+            @RequestParam(defaultValue = "10") @Min(1) Integer size,
+            HttpServletRequest request,
+            HttpServletResponse response) {
 
         log.info("Public: получение подборок, pinned={}, from={}, size={}", pinned, from, size);
-        return compilationService.getCompilations(pinned, from, size);
+        responseCache.serve(request, response, () -> compilationService.getCompilations(pinned, from, size),
+                ResourceVersions.COMPILATIONS, ResourceVersions.EVENTS, ResourceVersions.CATEGORIES);
     }
 
     @GetMapping("/{compId}")
-    public CompilationDto getCompilation(@PathVariable Long compId) {
+    public void getCompilation(@PathVariable Long compId,
+                               HttpServletRequest request,
+                               HttpServletResponse response) {
         log.info("Public: получение подборки с id={}", compId);
-        return compilationService.getCompilation(compId);
+        responseCache.serve(request, response, () -> compilationService.getCompilation(compId),
+                ResourceVersions.compilation(compId), ResourceVersions.EVENTS, ResourceVersions.CATEGORIES);
     }
 }
\ No newline at end of file
@@ -1,48 +1,91 @@
 package ru.practicum.controller.publicing;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
-import ru.practicum.dto.EventFullDto;
+import org.springframework.web.context.request.ServletWebRequest;
 import ru.practicum.dto.EventShortDto;
+import ru.practicum.dto.EventTileDto;
+import ru.practicum.geo.GeoArea;
 import ru.practicum.service.EventService;
+import ru.practicum.service.EventTileService;
+import ru.practicum.versioning.JsonResponseCache;
+import ru.practicum.versioning.ResourceVersions;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/events")
 @RequiredArgsConstructor
 public class PublicEventController {
     private final EventService eventService;
+    private final EventTileService tileService;
+    private final ResourceVersions versions;
+    private final JsonResponseCache responseCache;
 
     @GetMapping("/{id}")
-    public EventFullDto getEvent(@PathVariable Long id,
-                                 HttpServletRequest request) {
-        return eventService.getPublicEvent(id, request);
+    public CompletableFuture<Void> getEvent(@PathVariable Long id,
+                                            HttpServletRequest request,
+                                            HttpServletResponse response) {
+        String[] versionKeys = {ResourceVersions.event(id), ResourceVersions.CATEGORIES};
+        // weak: the versions do not cover the live views field appended to the body
+        String etag = "W/" + versions.etag(versionKeys);
+        if (new ServletWebRequest(request, response).checkNotModified(etag, versions.lastModified(versionKeys))) {
+            eventService.recordPublicView(id, request);
+            return null;
+        }
+
+        JsonResponseCache.CachedJson cached = responseCache.get(request, etag);
+        if (cached != null) {
+            return eventService.recordPublicView(id, request)
+                    .thenAccept(views -> responseCache.write(cached, request, response, views));
+        }
+        return eventService.getPublicEvent(id, request)
+                .thenAccept(event -> responseCache.write(
+                        responseCache.put(request, etag, event, "views"), request, response, event.getViews()));
+    }
+
+    @GetMapping("/tiles/{z}/{x}/{y}")
+    public EventTileDto getTile(@PathVariable int z,
+                                @PathVariable int x,
+                                @PathVariable int y) {
+        return tileService.getTile(z, x, y);
     }
 
     @GetMapping
-    public List<EventShortDto> getEvents(
+    public CompletableFuture<List<EventShortDto>> getEvents(
             @RequestParam(required = false) String text,
             @RequestParam(required = false) List<Long> categories,
             @RequestParam(required = false) Boolean paid,
             @RequestParam(required = false) String rangeStart,
             @RequestParam(required = false) String rangeEnd,
             @RequestParam(defaultValue = "false") Boolean onlyAvailable,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLon,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLon,
             @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") @Min(0) Integer from,
             @RequestParam(defaultValue = "10") @Min(1) Integer size,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            HttpServletResponse response) {
 
         LocalDateTime start = parseDateTime(rangeStart);
         LocalDateTime end = parseDateTime(rangeEnd);
+        GeoArea area = GeoArea.of(lat, lon, radius, minLat, minLon, maxLat, maxLon);
 
         return eventService.getPublicEvents(
-                text, categories, paid, start, end, onlyAvailable, sort, from, size, request
-        );
+                text, categories, paid, start, end, onlyAvailable, area, sort, cursor, from, size, request
+        ).thenApply(page -> page.toResponse(response));
     }
 
     private LocalDateTime parseDateTime(String dateTimeStr) {
@@ -0,0 +1,11 @@
+package ru.practicum.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.entity.Category;
+
+@Getter
+@AllArgsConstructor
+public class CategoryChanged {
+    private final Category category;
+}
\ No newline at end of file
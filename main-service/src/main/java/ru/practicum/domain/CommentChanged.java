@@ -0,0 +1,11 @@
+package ru.practicum.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CommentChanged {
+    private final Long eventId;
+    private final boolean countChanged;
+}
\ No newline at end of file
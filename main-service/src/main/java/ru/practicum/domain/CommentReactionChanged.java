@@ -0,0 +1,12 @@
+package ru.practicum.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CommentReactionChanged {
+    private final Long commentId;
+    private final long likesDelta;
+    private final long dislikesDelta;
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package ru.practicum.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CompilationChanged {
+    private final Long compilationId;
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package ru.practicum.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.entity.Event;
+
+@Getter
+@AllArgsConstructor
+public class EventChanged {
+    private final Event event;
+}
@@ -0,0 +1,10 @@
+package ru.practicum.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserDeleted {
+    private final Long userId;
+}
\ No newline at end of file
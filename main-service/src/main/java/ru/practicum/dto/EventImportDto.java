@@ -0,0 +1,21 @@
+package ru.practicum.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventImportDto {
+    @NotNull(message = "Initiator cannot be null")
+    private Long initiator;
+
+    @Valid
+    @NotNull(message = "Event cannot be null")
+    private NewEventDto event;
+}
\ No newline at end of file
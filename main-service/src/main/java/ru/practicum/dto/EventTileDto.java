@@ -0,0 +1,17 @@
+package ru.practicum.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventTileDto {
+    private Integer z;
+    private Integer x;
+    private Integer y;
+    private Integer gridSize;
+    private List<TileCellDto> cells;
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package ru.practicum.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportProgressDto {
+    private long processed;
+
+    private long created;
+
+    private long failed;
+
+    private boolean done;
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package ru.practicum.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportResultDto {
+    private Integer line;
+
+    private ImportStatus status;
+
+    private Long id;
+
+    private String error;
+
+    public static ImportResultDto created(Long id) {
+        return ImportResultDto.builder().status(ImportStatus.CREATED).id(id).build();
+    }
+
+    public static ImportResultDto failed(String error) {
+        return ImportResultDto.builder().status(ImportStatus.FAILED).error(error).build();
+    }
+
+    public enum ImportStatus {
+        CREATED, FAILED
+    }
+}
\ No newline at end of file
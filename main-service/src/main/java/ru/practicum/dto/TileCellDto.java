@@ -0,0 +1,16 @@
+package ru.practicum.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TileCellDto {
+    private Integer cellX;
+    private Integer cellY;
+    private Long count;
+    private Double lat;
+    private Double lon;
+    private Long eventId;
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package ru.practicum.dto.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentTreeDto {
+    private CommentDto comment;
+    private Long repliesCount;
+
+    @Builder.Default
+    private List<CommentTreeDto> replies = new ArrayList<>();
+}
\ No newline at end of file
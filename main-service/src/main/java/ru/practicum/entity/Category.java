@@ -2,6 +2,9 @@ package ru.practicum.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 
 
@@ -14,7 +17,9 @@ import lombok.*;
 @Builder
 public class Category {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "categories_seq")
+    @GenericGenerator(name = "categories_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "categories_seq"))
     private Long id;
 
     @Column(name = "name", nullable = false, unique = true, length = 50)
@@ -2,6 +2,9 @@ package ru.practicum.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.time.LocalDateTime;
 
@@ -14,7 +17,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class CommentReaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "comment_reactions_seq")
+    @GenericGenerator(name = "comment_reactions_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "comment_reactions_seq"))
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
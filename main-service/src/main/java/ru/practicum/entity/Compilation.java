@@ -2,6 +2,9 @@ package ru.practicum.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -14,7 +17,9 @@ import java.util.Set;
 @AllArgsConstructor
 public class Compilation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "compilations_seq")
+    @GenericGenerator(name = "compilations_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "compilations_seq"))
     private Long id;
 
     @ManyToMany
@@ -2,6 +2,9 @@ package ru.practicum.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 
 @Entity
@@ -13,7 +16,9 @@ import lombok.*;
 public class CompilationEvent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "compilation_events_seq")
+    @GenericGenerator(name = "compilation_events_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "compilation_events_seq"))
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
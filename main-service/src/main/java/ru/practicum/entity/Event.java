@@ -6,18 +6,27 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_views", columnList = "views"),
+        @Index(name = "idx_events_location", columnList = "lat, lon"),
+        @Index(name = "idx_events_admin_search", columnList = "initiator_id, state, category_id, event_date")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Event {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "events_seq")
+    @GenericGenerator(name = "events_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "events_seq"))
     private Long id;
 
     @Column(nullable = false, length = 2000)
@@ -27,7 +36,7 @@ public class Event {
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
-    @Column(name = "confirmed_requests")
+    @Column(name = "confirmed_requests", updatable = false)
     @Builder.Default
     private Integer confirmedRequests = 0;
 
@@ -75,10 +84,14 @@ public class Event {
     @Column(nullable = false, length = 120)
     private String title;
 
-    @Transient
+    @Column(name = "views", nullable = false, updatable = false)
     @Builder.Default
     private Long views = 0L;
 
+    @Column(name = "comments_count", updatable = false)
+    @Builder.Default
+    private Long commentsCount = 0L;
+
     public enum EventState {
         PENDING, PUBLISHED, CANCELED
     }
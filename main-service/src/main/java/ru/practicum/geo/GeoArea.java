@@ -0,0 +1,116 @@
+package ru.practicum.geo;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.exception.ValidationException;
+
+/**
+ * Search area: either a circle around a point or a lat/lon bounding box. Distances are measured from the
+ * circle center, or from the box center when searching by box. An area that crosses the antimeridian has
+ * minLon greater than maxLon and covers the two longitude ranges returned by lonRanges().
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class GeoArea {
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private final double minLat;
+    private final double maxLat;
+    private final double minLon;
+    private final double maxLon;
+    private final double centerLat;
+    private final double centerLon;
+    private final Double radiusKm;
+
+    public static GeoArea of(Double lat, Double lon, Double radius,
+                             Double minLat, Double minLon, Double maxLat, Double maxLon) {
+        boolean hasCircle = lat != null || lon != null || radius != null;
+        boolean hasBox = minLat != null || minLon != null || maxLat != null || maxLon != null;
+        if (hasCircle && hasBox) {
+            throw new ValidationException("Use either lat/lon/radius or a bounding box, not both");
+        }
+        if (hasCircle) {
+            if (lat == null || lon == null || radius == null) {
+                throw new ValidationException("lat, lon and radius must be given together");
+            }
+            return radius(lat, lon, radius);
+        }
+        if (hasBox) {
+            if (minLat == null || minLon == null || maxLat == null || maxLon == null) {
+                throw new ValidationException("minLat, minLon, maxLat and maxLon must be given together");
+            }
+            return box(minLat, minLon, maxLat, maxLon);
+        }
+        return null;
+    }
+
+    public static GeoArea radius(double lat, double lon, double radiusKm) {
+        validatePoint(lat, lon);
+        if (radiusKm <= 0) {
+            throw new ValidationException("Radius must be positive");
+        }
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double lonDelta = radiusKm / (KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(lat)), 1e-6));
+        double minLon = lon - lonDelta;
+        double maxLon = lon + lonDelta;
+        if (lonDelta >= 180 || lat + latDelta >= 90 || lat - latDelta <= -90) {
+            minLon = -180;
+            maxLon = 180;
+        } else if (minLon < -180) {
+            minLon += 360;
+        } else if (maxLon > 180) {
+            maxLon -= 360;
+        }
+        return new GeoArea(Math.max(lat - latDelta, -90), Math.min(lat + latDelta, 90),
+                minLon, maxLon, lat, lon, radiusKm);
+    }
+
+    public static GeoArea box(double minLat, double minLon, double maxLat, double maxLon) {
+        validatePoint(minLat, minLon);
+        validatePoint(maxLat, maxLon);
+        if (minLat > maxLat) {
+            throw new ValidationException("Bounding box minLat must not exceed maxLat");
+        }
+        double centerLon = (minLon + maxLon) / 2;
+        if (minLon > maxLon) {
+            centerLon = centerLon > 0 ? centerLon - 180 : centerLon + 180;
+        }
+        return new GeoArea(minLat, maxLat, minLon, maxLon, (minLat + maxLat) / 2, centerLon, null);
+    }
+
+    public boolean contains(double lat, double lon) {
+        if (Double.isNaN(lat) || Double.isNaN(lon) || lat < minLat || lat > maxLat) {
+            return false;
+        }
+        boolean inLonRange = minLon <= maxLon
+                ? lon >= minLon && lon <= maxLon
+                : lon >= minLon || lon <= maxLon;
+        return inLonRange && (radiusKm == null || distanceKm(lat, lon) <= radiusKm);
+    }
+
+    /**
+     * Longitude ranges covered by the area as {min, max} pairs: one, or two when it crosses the antimeridian.
+     */
+    public double[][] lonRanges() {
+        return minLon <= maxLon
+                ? new double[][]{{minLon, maxLon}}
+                : new double[][]{{minLon, 180}, {-180, maxLon}};
+    }
+
+    public double distanceKm(double lat, double lon) {
+        double dLat = Math.toRadians(lat - centerLat);
+        double dLon = Math.toRadians(lon - centerLon);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(centerLat)) * Math.cos(Math.toRadians(lat))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static void validatePoint(double lat, double lon) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new ValidationException("Coordinates out of range");
+        }
+    }
+}
\ No newline at end of file
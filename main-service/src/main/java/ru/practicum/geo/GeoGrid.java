@@ -0,0 +1,60 @@
+package ru.practicum.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed lat/lon grid used to bucket events spatially. A cell is CELL_DEGREES wide (about 28 km at the
+ * equator), so a city-sized radius touches a handful of cells.
+ */
+public final class GeoGrid {
+    public static final double CELL_DEGREES = 0.25;
+    public static final long NO_CELL = Long.MIN_VALUE;
+
+    private static final int MAX_CELLS_PER_QUERY = 4096;
+    private static final int LON_CELLS = (int) Math.ceil(360 / CELL_DEGREES) + 1;
+
+    private GeoGrid() {
+    }
+
+    public static long cellOf(double lat, double lon) {
+        if (Double.isNaN(lat) || Double.isNaN(lon)) {
+            return NO_CELL;
+        }
+        return (long) row(lat) * LON_CELLS + column(lon);
+    }
+
+    /**
+     * Cells overlapping the area, or null when the area spans so many cells that a full scan is cheaper.
+     */
+    public static List<Long> cellsOf(GeoArea area) {
+        int fromRow = row(area.getMinLat());
+        int toRow = row(area.getMaxLat());
+        double[][] lonRanges = area.lonRanges();
+        long columns = 0;
+        for (double[] range : lonRanges) {
+            columns += column(range[1]) - column(range[0]) + 1;
+        }
+        if ((toRow - fromRow + 1) * columns > MAX_CELLS_PER_QUERY) {
+            return null;
+        }
+
+        List<Long> cells = new ArrayList<>();
+        for (int row = fromRow; row <= toRow; row++) {
+            for (double[] range : lonRanges) {
+                for (int column = column(range[0]); column <= column(range[1]); column++) {
+                    cells.add((long) row * LON_CELLS + column);
+                }
+            }
+        }
+        return cells;
+    }
+
+    private static int row(double lat) {
+        return (int) Math.floor((lat + 90) / CELL_DEGREES);
+    }
+
+    private static int column(double lon) {
+        return (int) Math.floor((lon + 180) / CELL_DEGREES);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package ru.practicum.geo;
+
+import ru.practicum.exception.ValidationException;
+
+/**
+ * Web Mercator (slippy map) tile arithmetic.
+ */
+public final class TileMath {
+    public static final int MAX_ZOOM = 22;
+    public static final double MAX_LAT = 85.05112878;
+
+    private TileMath() {
+    }
+
+    public static void validate(int z, int x, int y) {
+        if (z < 0 || z > MAX_ZOOM) {
+            throw new ValidationException("Zoom must be between 0 and " + MAX_ZOOM);
+        }
+        int tiles = 1 << z;
+        if (x < 0 || x >= tiles || y < 0 || y >= tiles) {
+            throw new ValidationException("Tile coordinates out of range for zoom " + z);
+        }
+    }
+
+    public static GeoArea bounds(int z, int x, int y) {
+        return GeoArea.box(lat(z, y + 1), lon(z, x), lat(z, y), lon(z, x + 1));
+    }
+
+    public static double tileX(int z, double lon) {
+        return (lon + 180) / 360 * (1 << z);
+    }
+
+    public static double tileY(int z, double lat) {
+        double clamped = Math.max(-MAX_LAT, Math.min(MAX_LAT, lat));
+        double rad = Math.toRadians(clamped);
+        return (1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2 * (1 << z);
+    }
+
+    private static double lon(int z, int x) {
+        return (double) x / (1 << z) * 360 - 180;
+    }
+
+    private static double lat(int z, int y) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2.0 * y / (1 << z)))));
+    }
+}
\ No newline at end of file
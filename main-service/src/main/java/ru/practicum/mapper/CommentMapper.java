@@ -2,19 +2,24 @@ package ru.practicum.mapper;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import ru.practicum.dto.UserShortDto;
 import ru.practicum.dto.comment.CommentDto;
+import ru.practicum.dto.comment.CommentTreeDto;
 import ru.practicum.dto.comment.NewCommentDto;
 import ru.practicum.entity.Comment;
 import ru.practicum.entity.CommentStatus;
 import ru.practicum.entity.Event;
 import ru.practicum.entity.User;
+import ru.practicum.reaction.CommentReactionCounters;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 
 @Component
 @RequiredArgsConstructor
 public class CommentMapper {
     private final UserMapper userMapper;
+    private final CommentReactionCounters reactionCounters;
 
     public Comment toEntity(NewCommentDto dto, User author, Event event) {
         return Comment.builder()
@@ -35,8 +40,10 @@ public class CommentMapper {
                 .status(entity.getStatus().name())
                 .created(entity.getCreated())
                 .updated(entity.getUpdated())
-                .likesCount(entity.getLikesCount() != null ? entity.getLikesCount() : 0L)
-                .dislikesCount(entity.getDislikesCount() != null ? entity.getDislikesCount() : 0L)
+                .likesCount((entity.getLikesCount() != null ? entity.getLikesCount() : 0L)
+                        + reactionCounters.pendingLikes(entity.getId()))
+                .dislikesCount((entity.getDislikesCount() != null ? entity.getDislikesCount() : 0L)
+                        + reactionCounters.pendingDislikes(entity.getId()))
                 .isReply(entity.getIsReply() != null ? entity.getIsReply() : false)
                 .build();
 
@@ -46,4 +53,37 @@ public class CommentMapper {
 
         return dto;
     }
+
+    public CommentTreeDto toTreeDto(Object[] row) {
+        Long id = toLong(row[0]);
+        CommentDto comment = CommentDto.builder()
+                .id(id)
+                .text((String) row[1])
+                .eventId(toLong(row[2]))
+                .status((String) row[3])
+                .created(toDateTime(row[4]))
+                .updated(toDateTime(row[5]))
+                .parentCommentId(toLong(row[6]))
+                .likesCount((row[7] != null ? toLong(row[7]) : 0L) + reactionCounters.pendingLikes(id))
+                .dislikesCount((row[8] != null ? toLong(row[8]) : 0L) + reactionCounters.pendingDislikes(id))
+                .isReply(row[9] != null ? (Boolean) row[9] : false)
+                .author(UserShortDto.builder()
+                        .id(toLong(row[10]))
+                        .name((String) row[11])
+                        .build())
+                .build();
+
+        return CommentTreeDto.builder()
+                .comment(comment)
+                .repliesCount(toLong(row[12]))
+                .build();
+    }
+
+    private static Long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private static LocalDateTime toDateTime(Object value) {
+        return value instanceof Timestamp ? ((Timestamp) value).toLocalDateTime() : (LocalDateTime) value;
+    }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import ru.practicum.entity.Category;
 import ru.practicum.entity.Event;
 import ru.practicum.entity.Location;
 import ru.practicum.entity.User;
+import ru.practicum.repository.EventShortView;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -42,7 +43,7 @@ public class EventMapper {
     }
 
     public EventFullDto toFullDto(Event entity) {
-        return toFullDto(entity, 0L); // По умолчанию 0 комментариев
+        return toFullDto(entity, entity.getCommentsCount());
     }
 
     public EventFullDto toFullDto(Event entity, Long commentsCount) {
@@ -80,7 +81,7 @@ public class EventMapper {
     }
 
     public EventShortDto toShortDto(Event entity) {
-        return toShortDto(entity, 0L);
+        return toShortDto(entity, entity.getCommentsCount());
     }
 
     public EventShortDto toShortDto(Event entity, Long commentsCount) {
@@ -99,4 +100,27 @@ public class EventMapper {
                 .commentsCount(commentsCount != null ? commentsCount : 0L)
                 .build();
     }
+
+    public EventShortDto toShortDto(EventShortView view) {
+        return EventShortDto.builder()
+                .id(view.getId())
+                .annotation(view.getAnnotation())
+                .category(CategoryDto.builder()
+                        .id(view.getCategoryId())
+                        .name(view.getCategoryName())
+                        .build())
+                .confirmedRequests(view.getConfirmedRequests() != null ?
+                        view.getConfirmedRequests().longValue() : 0L)
+                .eventDate(view.getEventDate() != null ?
+                        view.getEventDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) : null)
+                .initiator(UserShortDto.builder()
+                        .id(view.getInitiatorId())
+                        .name(view.getInitiatorName())
+                        .build())
+                .paid(view.getPaid())
+                .title(view.getTitle())
+                .views(view.getViews() != null ? view.getViews() : 0L)
+                .commentsCount(view.getCommentsCount() != null ? view.getCommentsCount() : 0L)
+                .build();
+    }
 }
\ No newline at end of file
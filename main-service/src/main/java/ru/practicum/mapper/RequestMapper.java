@@ -6,6 +6,8 @@ import ru.practicum.entity.Event;
 import ru.practicum.entity.ParticipationRequest;
 import ru.practicum.entity.User;
 
+import java.time.LocalDateTime;
+
 @Component
 public class RequestMapper {
     public ParticipationRequest toEntity(Event event, User requester) {
@@ -16,6 +18,17 @@ public class RequestMapper {
                 .build();
     }
 
+    public ParticipationRequestDto toDto(Long id, Long eventId, Long requesterId, LocalDateTime created,
+                                         ParticipationRequest.Status status) {
+        return ParticipationRequestDto.builder()
+                .id(id)
+                .event(eventId)
+                .requester(requesterId)
+                .created(created)
+                .status(status.name())
+                .build();
+    }
+
     public ParticipationRequestDto toDto(ParticipationRequest entity) {
         return ParticipationRequestDto.builder()
                 .id(entity.getId())
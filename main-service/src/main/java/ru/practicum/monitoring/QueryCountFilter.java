@@ -0,0 +1,36 @@
+package ru.practicum.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "monitoring.query-guard.enabled", havingValue = "true")
+public class QueryCountFilter extends OncePerRequestFilter {
+    @Value("${monitoring.query-guard.max-statements:10}")
+    private int maxStatements;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        QueryCountInspector.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = QueryCountInspector.stop();
+            if (statements > maxStatements) {
+                log.warn("{} {} executed {} SQL statements, budget is {}",
+                        request.getMethod(), request.getRequestURI(), statements, maxStatements);
+            }
+        }
+    }
+}
\ No newline at end of file
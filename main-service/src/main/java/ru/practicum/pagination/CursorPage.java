@@ -0,0 +1,29 @@
+package ru.practicum.pagination;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    public List<T> toResponse(HttpServletResponse response) {
+        if (nextCursor != null) {
+            response.setHeader(PageCursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return items;
+    }
+
+    public static <E> String nextCursor(List<E> rows, int size, Function<E, PageCursor> cursorOf) {
+        if (rows.isEmpty() || rows.size() < size) {
+            return null;
+        }
+        return cursorOf.apply(rows.get(rows.size() - 1)).encode();
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.pagination;
+
+public enum EventSort {
+    ID,
+    EVENT_DATE,
+    VIEWS,
+    RELEVANCE,
+    DISTANCE;
+
+    public static EventSort resolve(String sort, boolean textSearch) {
+        if (EVENT_DATE.name().equalsIgnoreCase(sort)) {
+            return EVENT_DATE;
+        } else if (VIEWS.name().equalsIgnoreCase(sort)) {
+            return VIEWS;
+        } else if (DISTANCE.name().equalsIgnoreCase(sort)) {
+            return DISTANCE;
+        } else if (sort == null && textSearch) {
+            return RELEVANCE;
+        }
+        return ID;
+    }
+
+    /**
+     * Order of RELEVANCE (score, highest first) and DISTANCE (nearest first) results, ties broken by id.
+     */
+    public int compareRank(double key, long id, double otherKey, long otherId) {
+        int byKey = this == RELEVANCE ? Double.compare(otherKey, key) : Double.compare(key, otherKey);
+        return byKey != 0 ? byKey : Long.compare(id, otherId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package ru.practicum.pagination;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class PageCursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private static final String SEPARATOR = "|";
+
+    private final String sort;
+    private final String key;
+    private final Long id;
+
+    public static PageCursor of(String sort, Object key, Long id) {
+        return new PageCursor(sort, key != null ? key.toString() : "", id);
+    }
+
+    public static Pageable pageable(String cursor, int from, int size, Sort sort) {
+        return cursor != null ? PageRequest.of(0, size, sort) : PageRequest.of(from / size, size, sort);
+    }
+
+    public static PageCursor decode(String cursor, String expectedSort) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            parts = raw.split("\\" + SEPARATOR, 3);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Malformed cursor");
+        }
+
+        if (parts.length != 3 || !parts[1].equals(expectedSort)) {
+            throw new ValidationException("Cursor does not match requested sort " + expectedSort);
+        }
+
+        try {
+            return new PageCursor(parts[1], parts[2], Long.parseLong(parts[0]));
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Malformed cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = id + SEPARATOR + sort + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime keyAsDateTime() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (RuntimeException e) {
+            throw new ValidationException("Malformed cursor");
+        }
+    }
+
+    public Long keyAsLong() {
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Malformed cursor");
+        }
+    }
+
+    public double keyAsDouble() {
+        try {
+            return Double.parseDouble(key);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Malformed cursor");
+        }
+    }
+}
\ No newline at end of file
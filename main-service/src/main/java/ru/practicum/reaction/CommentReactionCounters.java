@@ -0,0 +1,128 @@
+package ru.practicum.reaction;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.domain.CommentReactionChanged;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind likes/dislikes counters. Committed reactions only add to striped
+ * per-comment adders, so writers on a popular comment never wait on its row;
+ * a scheduled flush moves the accumulated deltas into the comments table with
+ * relative updates. Reads add the pending delta to the persisted value.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentReactionCounters {
+    private final ReactionCounterWriter writer;
+
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReactionChanged(CommentReactionChanged changed) {
+        add(changed.getCommentId(), changed.getLikesDelta(), changed.getDislikesDelta());
+    }
+
+    public long pendingLikes(Long commentId) {
+        Pending counters = pending.get(commentId);
+        return counters != null ? counters.likes.sum() : 0L;
+    }
+
+    public long pendingDislikes(Long commentId) {
+        Pending counters = pending.get(commentId);
+        return counters != null ? counters.dislikes.sum() : 0L;
+    }
+
+    @Scheduled(fixedDelayString = "${comments.reactions.flush-interval-ms:1000}",
+            initialDelayString = "${comments.reactions.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<Long> commentIds = new ArrayList<>();
+        List<Object[]> deltas = new ArrayList<>();
+        pending.forEach((commentId, counters) -> {
+            long likes = counters.likes.sum();
+            long dislikes = counters.dislikes.sum();
+            if (likes != 0 || dislikes != 0) {
+                commentIds.add(commentId);
+                deltas.add(new Object[]{likes, dislikes, commentId});
+            } else {
+                retire(commentId, counters);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            writer.apply(deltas);
+        } catch (RuntimeException e) {
+            log.warn("Reaction counters flush failed, {} comments stay pending: {}", deltas.size(), e.toString());
+            return;
+        }
+
+        // The deltas are persisted now; take exactly them back out, keeping whatever arrived meanwhile
+        for (int i = 0; i < commentIds.size(); i++) {
+            Object[] delta = deltas.get(i);
+            add(commentIds.get(i), -(long) delta[0], -(long) delta[1]);
+        }
+        log.debug("Reaction counters flushed for {} comments", deltas.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void add(Long commentId, long likes, long dislikes) {
+        while (true) {
+            Pending counters = pending.computeIfAbsent(commentId, id -> new Pending());
+            counters.writers.increment();
+            try {
+                if (counters.retired) {
+                    continue;
+                }
+                counters.likes.add(likes);
+                counters.dislikes.add(dislikes);
+                return;
+            } finally {
+                counters.writers.decrement();
+            }
+        }
+    }
+
+    /**
+     * Drops an idle entry. A writer that saw it before retirement is waited for,
+     * and anything it added is moved to a fresh entry instead of being lost.
+     */
+    private void retire(Long commentId, Pending counters) {
+        if (!pending.remove(commentId, counters)) {
+            return;
+        }
+        counters.retired = true;
+        while (counters.writers.sum() != 0) {
+            Thread.onSpinWait();
+        }
+
+        long likes = counters.likes.sum();
+        long dislikes = counters.dislikes.sum();
+        if (likes != 0 || dislikes != 0) {
+            add(commentId, likes, dislikes);
+        }
+    }
+
+    private static class Pending {
+        private final LongAdder likes = new LongAdder();
+        private final LongAdder dislikes = new LongAdder();
+        private final LongAdder writers = new LongAdder();
+        private volatile boolean retired;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package ru.practicum.reaction;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+public class MergeReactionStore extends ReactionStore {
+    private static final String UPSERT = "SELECT r.id, c.event_id FROM FINAL TABLE (" +
+            "    MERGE INTO comment_reactions r " +
+            "    USING (SELECT c.id AS comment_id, u.id AS user_id FROM comments c JOIN users u ON u.id = :userId " +
+            "           WHERE c.id = :commentId AND c.status = 'PUBLISHED') s " +
+            "    ON r.comment_id = s.comment_id AND r.user_id = s.user_id " +
+            "    WHEN MATCHED AND r.type <> :type THEN UPDATE SET type = :type " +
+            "    WHEN NOT MATCHED THEN INSERT (id, comment_id, user_id, type, created_on) " +
+            "    VALUES (:id, s.comment_id, s.user_id, :type, :created)" +
+            ") r JOIN comments c ON c.id = r.comment_id";
+
+    private static final String REMOVE = "SELECT r.type, c.event_id FROM OLD TABLE (" +
+            "    DELETE FROM comment_reactions WHERE comment_id = :commentId AND user_id = :userId" +
+            ") r JOIN comments c ON c.id = r.comment_id";
+
+    private static final String NEXT_ID = "SELECT NEXT VALUE FOR comment_reactions_seq";
+
+    public MergeReactionStore(NamedParameterJdbcTemplate jdbcTemplate, int allocationSize) {
+        super(jdbcTemplate, UPSERT, REMOVE, NEXT_ID, allocationSize);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package ru.practicum.reaction;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+public class PostgresReactionStore extends ReactionStore {
+    private static final String UPSERT = "WITH stored AS (" +
+            "    INSERT INTO comment_reactions (id, comment_id, user_id, type, created_on) " +
+            "    SELECT :id, c.id, u.id, :type, :created FROM comments c JOIN users u ON u.id = :userId " +
+            "    WHERE c.id = :commentId AND c.status = 'PUBLISHED' " +
+            "    ON CONFLICT (comment_id, user_id) DO UPDATE SET type = EXCLUDED.type " +
+            "    WHERE comment_reactions.type <> EXCLUDED.type " +
+            "    RETURNING id, comment_id" +
+            ") " +
+            "SELECT s.id, c.event_id FROM stored s JOIN comments c ON c.id = s.comment_id";
+
+    private static final String REMOVE = "WITH removed AS (" +
+            "    DELETE FROM comment_reactions WHERE comment_id = :commentId AND user_id = :userId " +
+            "    RETURNING type, comment_id" +
+            ") " +
+            "SELECT r.type, c.event_id FROM removed r JOIN comments c ON c.id = r.comment_id";
+
+    private static final String NEXT_ID = "SELECT nextval('comment_reactions_seq')";
+
+    public PostgresReactionStore(NamedParameterJdbcTemplate jdbcTemplate, int allocationSize) {
+        super(jdbcTemplate, UPSERT, REMOVE, NEXT_ID, allocationSize);
+    }
+}
\ No newline at end of file
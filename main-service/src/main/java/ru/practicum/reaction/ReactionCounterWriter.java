@@ -0,0 +1,27 @@
+package ru.practicum.reaction;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ReactionCounterWriter {
+    private static final String APPLY_DELTAS = "UPDATE comments " +
+            "SET likes_count = COALESCE(likes_count, 0) + ?, dislikes_count = COALESCE(dislikes_count, 0) + ? " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Applies likes/dislikes deltas given as {likes, dislikes, commentId} rows in
+     * one JDBC batch; comments deleted in the meantime are skipped by the WHERE.
+     */
+    @Transactional
+    public void apply(List<Object[]> deltas) {
+        jdbcTemplate.batchUpdate(APPLY_DELTAS, deltas);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package ru.practicum.reaction;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.entity.ReactionType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes a user's reaction to a comment in a single statement against the
+ * uq_comment_user constraint. The statements only touch published comments of
+ * existing users, so an empty result means nothing was written.
+ */
+public abstract class ReactionStore {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String upsertSql;
+    private final String removeSql;
+    private final String nextIdSql;
+    private final int allocationSize;
+
+    private long nextId;
+    private long lastId = -1;
+
+    protected ReactionStore(NamedParameterJdbcTemplate jdbcTemplate, String upsertSql, String removeSql,
+                            String nextIdSql, int allocationSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.upsertSql = upsertSql;
+        this.removeSql = removeSql;
+        this.nextIdSql = nextIdSql;
+        this.allocationSize = allocationSize;
+    }
+
+    /**
+     * Inserts the reaction or switches an existing one to the requested type.
+     * Returns null when the user already has this reaction or the comment cannot
+     * be reacted to; a switched row keeps its own id, which is how the previous
+     * (opposite) type is told apart from a fresh insert.
+     */
+    public StoredReaction upsert(Long userId, Long commentId, ReactionType type, LocalDateTime created) {
+        long id = nextId();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("userId", userId)
+                .addValue("commentId", commentId)
+                .addValue("type", type.name())
+                .addValue("created", created);
+
+        List<StoredReaction> rows = jdbcTemplate.query(upsertSql, params, (rs, rowNum) -> new StoredReaction(
+                rs.getLong(2),
+                rs.getLong(1) == id ? null : type == ReactionType.LIKE ? ReactionType.DISLIKE : ReactionType.LIKE));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Deletes the reaction and returns its type, or null when there was none.
+     */
+    public StoredReaction remove(Long userId, Long commentId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("commentId", commentId);
+
+        List<StoredReaction> rows = jdbcTemplate.query(removeSql, params, (rs, rowNum) -> new StoredReaction(
+                rs.getLong(2), ReactionType.valueOf(rs.getString(1))));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Hands out ids from comment_reactions_seq in blocks of the allocation size, one
+     * sequence call per block. The block below each sequence value is the same one the
+     * pooled entity id generator would use, so ids from both never collide.
+     */
+    private synchronized long nextId() {
+        if (nextId > lastId) {
+            lastId = jdbcTemplate.getJdbcTemplate().queryForObject(nextIdSql, Long.class);
+            nextId = Math.max(lastId - allocationSize + 1, 1);
+        }
+        return nextId++;
+    }
+}
\ No newline at end of file
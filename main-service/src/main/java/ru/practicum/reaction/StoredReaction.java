@@ -0,0 +1,12 @@
+package ru.practicum.reaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.entity.ReactionType;
+
+@Getter
+@AllArgsConstructor
+public class StoredReaction {
+    private final Long eventId;
+    private final ReactionType previousType;
+}
\ No newline at end of file
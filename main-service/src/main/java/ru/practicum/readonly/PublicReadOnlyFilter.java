@@ -0,0 +1,32 @@
+package ru.practicum.readonly;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "public-read.enabled", havingValue = "true")
+public class PublicReadOnlyFilter extends OncePerRequestFilter {
+    private static final List<String> PUBLIC_PREFIXES = List.of("/events", "/categories", "/compilations",
+            "/comments", "/actuator");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String path = request.getRequestURI();
+        boolean isPublic = PUBLIC_PREFIXES.stream().anyMatch(path::startsWith);
+        if (!HttpMethod.GET.matches(request.getMethod()) || !isPublic) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Read-only public instance");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package ru.practicum.readonly;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.catalog.EventShortReadModel;
+import ru.practicum.catalog.PublishedEventCatalog;
+import ru.practicum.search.EventSearchIndex;
+import ru.practicum.service.EventTileService;
+import ru.practicum.versioning.ResourceVersions;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "public-read.enabled", havingValue = "true")
+public class PublicReadRefresher {
+    private final PublishedEventCatalog catalog;
+    private final EventShortReadModel shortReadModel;
+    private final EventSearchIndex eventSearchIndex;
+    private final EventTileService tileService;
+    private final ResourceVersions versions;
+
+    @Scheduled(fixedDelayString = "${public-read.refresh-interval-ms:30000}",
+            initialDelayString = "${public-read.refresh-interval-ms:30000}")
+    public void refresh() {
+        catalog.rebuild();
+        shortReadModel.rebuild();
+        eventSearchIndex.refresh();
+        tileService.clear();
+        versions.reset();
+        log.debug("Public read replica refreshed");
+    }
+}
\ No newline at end of file
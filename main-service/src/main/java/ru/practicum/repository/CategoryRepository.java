@@ -2,14 +2,20 @@ package ru.practicum.repository;
 
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.entity.Category;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsByName(String name);
 
+    @Query("SELECT c.name FROM Category c WHERE c.name IN :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
     List<Category> findAllByOrderByIdAsc();
 }
\ No newline at end of file
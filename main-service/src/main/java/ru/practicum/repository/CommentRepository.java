@@ -1,8 +1,12 @@
 package ru.practicum.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.entity.Comment;
@@ -10,17 +14,54 @@ import ru.practicum.entity.CommentStatus;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findByEventIdAndStatusAndParentCommentIsNull(Long eventId,
-                                                               CommentStatus status,
-                                                               Pageable pageable);
+    @EntityGraph(attributePaths = {"author"})
+    List<Comment> findByEventIdAndStatusAndParentCommentIsNullAndIdGreaterThan(Long eventId,
+                                                                               CommentStatus status,
+                                                                               Long afterId,
+                                                                               Pageable pageable);
 
-    List<Comment> findByParentCommentIdAndStatus(Long parentCommentId, CommentStatus status);
+    @EntityGraph(attributePaths = {"author"})
+    List<Comment> findByParentCommentIdAndStatus(Long parentCommentId, CommentStatus status, Pageable pageable);
 
-    List<Comment> findByAuthorId(Long authorId, Pageable pageable);
+    /**
+     * One page of published root comments of an event together with their first
+     * {@code replies} published replies, ranked per parent in a single pass.
+     * Rows come ordered by id as id, text, event_id, status, created_on, updated_on,
+     * parent_comment_id, likes_count, dislikes_count, is_reply, author id, author name,
+     * replies count.
+     */
+    @Query(value = "SELECT c.id, c.text, c.event_id, c.status, c.created_on, c.updated_on, c.parent_comment_id, " +
+            "c.likes_count, c.dislikes_count, c.is_reply, u.id AS author_id, u.name AS author_name, " +
+            "(SELECT COUNT(*) FROM comments x WHERE x.parent_comment_id = c.id AND x.status = 'PUBLISHED') " +
+            "AS replies_count " +
+            "FROM (" +
+            "    SELECT t.id, ROW_NUMBER() OVER (PARTITION BY t.parent_comment_id ORDER BY t.id) AS position " +
+            "    FROM (" +
+            "        SELECT p.id FROM comments p " +
+            "        WHERE p.event_id = :eventId AND p.status = 'PUBLISHED' " +
+            "        AND p.parent_comment_id IS NULL AND p.id > :afterId " +
+            "        ORDER BY p.id LIMIT :limit OFFSET :offset" +
+            "    ) roots " +
+            "    JOIN comments t ON t.id = roots.id OR t.parent_comment_id = roots.id " +
+            "    WHERE t.status = 'PUBLISHED'" +
+            ") r " +
+            "JOIN comments c ON c.id = r.id " +
+            "JOIN users u ON u.id = c.author_id " +
+            "WHERE c.parent_comment_id IS NULL OR r.position <= :replies " +
+            "ORDER BY c.id",
+            nativeQuery = true)
+    List<Object[]> findCommentTreeRows(@Param("eventId") Long eventId,
+                                       @Param("afterId") Long afterId,
+                                       @Param("limit") int limit,
+                                       @Param("offset") long offset,
+                                       @Param("replies") int replies);
+
+    List<Comment> findByAuthorIdAndIdGreaterThan(Long authorId, Long afterId, Pageable pageable);
 
     List<Comment> findByEventIdAndStatusNot(Long eventId, CommentStatus status, Pageable pageable);
 
@@ -31,12 +72,28 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT c FROM Comment c " +
             "WHERE (:users IS NULL OR c.author.id IN :users) " +
             "AND (:events IS NULL OR c.event.id IN :events) " +
-            "AND (:statuses IS NULL OR c.status IN :statuses)")
+            "AND (:statuses IS NULL OR c.status IN :statuses) " +
+            "AND c.id > :afterId")
     List<Comment> findAdminComments(@Param("users") List<Long> users,
                                     @Param("events") List<Long> events,
                                     @Param("statuses") List<CommentStatus> statuses,
+                                    @Param("afterId") Long afterId,
                                     Pageable pageable);
 
+    @EntityGraph(attributePaths = {"author"})
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EventRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT c FROM Comment c " +
+            "WHERE (:users IS NULL OR c.author.id IN :users) " +
+            "AND (:events IS NULL OR c.event.id IN :events) " +
+            "AND (:statuses IS NULL OR c.status IN :statuses) " +
+            "AND (:pattern IS NULL OR LOWER(c.text) LIKE :pattern ESCAPE '\\') " +
+            "ORDER BY c.id")
+    Stream<Comment> streamAdminComments(@Param("users") List<Long> users,
+                                        @Param("events") List<Long> events,
+                                        @Param("statuses") List<CommentStatus> statuses,
+                                        @Param("pattern") String pattern);
+
     Long countByEventIdAndStatus(Long eventId, CommentStatus status);
 
     @Query("SELECT c.event.id, COUNT(c) FROM Comment c " +
@@ -1,6 +1,8 @@
 package ru.practicum.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 import ru.practicum.entity.Compilation;
@@ -13,4 +15,7 @@ public interface CompilationRepository extends JpaRepository<Compilation, Long>
     List<Compilation> findAllByPinned(Boolean pinned, Pageable pageable);
 
     List<Compilation> findAllByOrderByIdAsc(Pageable pageable);
+
+    @Query("SELECT c.id, e.id FROM Compilation c JOIN c.events e WHERE c.id IN :compilationIds")
+    List<Object[]> findEventIdsByCompilationIds(@Param("compilationIds") List<Long> compilationIds);
 }
\ No newline at end of file
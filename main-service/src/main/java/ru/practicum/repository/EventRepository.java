@@ -1,66 +1,187 @@
 package ru.practicum.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.entity.Event;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
-    List<Event> findAllByInitiatorId(Long userId, Pageable pageable);
+    String EXPORT_FETCH_SIZE = "500";
 
+    String PUBLIC_EVENTS_FILTER = "WHERE e.state = 'PUBLISHED' " +
+            "AND (:ids IS NULL OR e.id IN :ids) " +
+            "AND (:textQuery IS NULL OR event_text_matches(e.id, :textQuery) = TRUE) " +
+            "AND (:categories IS NULL OR e.category.id IN :categories) " +
+            "AND (:paid IS NULL OR e.paid = :paid) " +
+            "AND e.eventDate >= :rangeStart AND e.eventDate <= :rangeEnd " +
+            "AND (:onlyAvailable = FALSE OR e.participantLimit = 0 " +
+            "     OR e.confirmedRequests < e.participantLimit) ";
+    String ADMIN_EVENTS_FILTER = "WHERE (:users IS NULL OR e.initiator.id IN :users) " +
+            "AND (:states IS NULL OR e.state IN :states) " +
+            "AND (:categories IS NULL OR e.category.id IN :categories) " +
+            "AND (:rangeStart IS NULL OR e.eventDate >= :rangeStart) " +
+            "AND (:rangeEnd IS NULL OR e.eventDate <= :rangeEnd) ";
+    String SHORT_VIEW_SELECT = "SELECT new ru.practicum.repository.EventShortView(" +
+            "e.id, e.annotation, c.id, c.name, e.confirmedRequests, e.eventDate, " +
+            "u.id, u.name, e.paid, e.title, e.views, e.commentsCount) " +
+            "FROM Event e JOIN e.category c JOIN e.initiator u ";
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
     Optional<Event> findByIdAndInitiatorId(Long eventId, Long userId);
 
+    @EntityGraph(attributePaths = {"category", "initiator"})
     Optional<Event> findByIdAndState(Long eventId, Event.EventState state);
 
     boolean existsByCategoryId(Long categoryId);
 
-    @Query("SELECT e FROM Event e " +
-            "WHERE (:users IS NULL OR e.initiator.id IN :users) " +
-            "AND (:states IS NULL OR e.state IN (:states)) " +
-            "AND (:categories IS NULL OR e.category.id IN :categories) " +
-            "AND (:rangeStart IS NULL OR e.eventDate >= :rangeStart) " +
-            "AND (:rangeEnd IS NULL OR e.eventDate <= :rangeEnd)")
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @Query("SELECT e FROM Event e " + ADMIN_EVENTS_FILTER + "AND e.id > :afterId")
     List<Event> findAdminEvents(@Param("users") List<Long> users,
                                 @Param("states") List<Event.EventState> states,
                                 @Param("categories") List<Long> categories,
                                 @Param("rangeStart") LocalDateTime rangeStart,
                                 @Param("rangeEnd") LocalDateTime rangeEnd,
+                                @Param("afterId") Long afterId,
                                 Pageable pageable);
 
-    @Query("SELECT e FROM Event e WHERE e.state = 'PUBLISHED'")
-    List<Event> findPublishedEvents(Pageable pageable);
-
-    @Query("SELECT e FROM Event e WHERE e.state = 'PUBLISHED' " +
-            "AND (LOWER(e.annotation) LIKE LOWER(CONCAT('%', :text, '%')) " +
-            "     OR LOWER(e.description) LIKE LOWER(CONCAT('%', :text, '%')))")
-    List<Event> findPublishedEventsByText(@Param("text") String text, Pageable pageable);
-
-    @Query("SELECT e FROM Event e WHERE e.state = 'PUBLISHED' " +
-            "AND e.category.id IN :categories")
-    List<Event> findPublishedEventsByCategories(@Param("categories") List<Long> categories, Pageable pageable);
-
-    @Query("SELECT e FROM Event e WHERE e.state = 'PUBLISHED' AND e.paid = :paid")
-    List<Event> findPublishedEventsByPaid(@Param("paid") Boolean paid, Pageable pageable);
-
-    @Query("SELECT e FROM Event e WHERE e.state = 'PUBLISHED' " +
-            "AND e.eventDate BETWEEN :rangeStart AND :rangeEnd")
-    List<Event> findPublishedEventsByDateRange(@Param("rangeStart") LocalDateTime rangeStart,
-                                               @Param("rangeEnd") LocalDateTime rangeEnd,
-                                               Pageable pageable);
-
-    @Query("SELECT e FROM Event e WHERE " +
-            "(:users IS NULL OR e.initiator.id IN :users) AND " +
-            "(:states IS NULL OR e.state IN :states) AND " +
-            "(:categories IS NULL OR e.category.id IN :categories)")
-    List<Event> findEventsWithOptionalFilters(@Param("users") List<Long> users,
-                                              @Param("states") List<Event.EventState> states,
-                                              @Param("categories") List<Long> categories,
-                                              Pageable pageable);
+    @Query("SELECT COUNT(e) FROM Event e " + ADMIN_EVENTS_FILTER)
+    long countAdminEvents(@Param("users") List<Long> users,
+                          @Param("states") List<Event.EventState> states,
+                          @Param("categories") List<Long> categories,
+                          @Param("rangeStart") LocalDateTime rangeStart,
+                          @Param("rangeEnd") LocalDateTime rangeEnd);
+
+    @Query(SHORT_VIEW_SELECT + PUBLIC_EVENTS_FILTER +
+            "AND e.id > :afterId")
+    List<EventShortView> findPublicEvents(@Param("ids") List<Long> ids,
+                                          @Param("categories") List<Long> categories,
+                                          @Param("paid") Boolean paid,
+                                          @Param("rangeStart") LocalDateTime rangeStart,
+                                          @Param("rangeEnd") LocalDateTime rangeEnd,
+                                          @Param("onlyAvailable") boolean onlyAvailable,
+                                          @Param("textQuery") String textQuery,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    @Query(SHORT_VIEW_SELECT + PUBLIC_EVENTS_FILTER +
+            "AND (e.eventDate > :afterDate OR (e.eventDate = :afterDate AND e.id > :afterId))")
+    List<EventShortView> findPublicEventsByEventDate(@Param("ids") List<Long> ids,
+                                                     @Param("categories") List<Long> categories,
+                                                     @Param("paid") Boolean paid,
+                                                     @Param("rangeStart") LocalDateTime rangeStart,
+                                                     @Param("rangeEnd") LocalDateTime rangeEnd,
+                                                     @Param("onlyAvailable") boolean onlyAvailable,
+                                                     @Param("textQuery") String textQuery,
+                                                     @Param("afterDate") LocalDateTime afterDate,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+
+    @Query(SHORT_VIEW_SELECT + PUBLIC_EVENTS_FILTER +
+            "AND (e.views < :afterViews OR (e.views = :afterViews AND e.id > :afterId))")
+    List<EventShortView> findPublicEventsByViews(@Param("ids") List<Long> ids,
+                                                 @Param("categories") List<Long> categories,
+                                                 @Param("paid") Boolean paid,
+                                                 @Param("rangeStart") LocalDateTime rangeStart,
+                                                 @Param("rangeEnd") LocalDateTime rangeEnd,
+                                                 @Param("onlyAvailable") boolean onlyAvailable,
+                                                 @Param("textQuery") String textQuery,
+                                                 @Param("afterViews") Long afterViews,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+
+    @Query("SELECT e.id FROM Event e " + PUBLIC_EVENTS_FILTER)
+    List<Long> findPublicEventIds(@Param("ids") List<Long> ids,
+                                  @Param("categories") List<Long> categories,
+                                  @Param("paid") Boolean paid,
+                                  @Param("rangeStart") LocalDateTime rangeStart,
+                                  @Param("rangeEnd") LocalDateTime rangeEnd,
+                                  @Param("onlyAvailable") boolean onlyAvailable,
+                                  @Param("textQuery") String textQuery);
+
+    @Query("SELECT e.id FROM Event e WHERE e.state = 'PUBLISHED'")
+    List<Long> findPublishedEventIds();
+
+    @Query("SELECT e.id, e.location.lat, e.location.lon FROM Event e WHERE e.state = 'PUBLISHED' " +
+            "AND e.location.lat BETWEEN :minLat AND :maxLat AND e.location.lon BETWEEN :minLon AND :maxLon")
+    List<Object[]> findPublishedLocationsInBox(@Param("minLat") float minLat,
+                                               @Param("maxLat") float maxLat,
+                                               @Param("minLon") float minLon,
+                                               @Param("maxLon") float maxLon);
+
+    List<Event> findAllByState(Event.EventState state);
+
+    @Query(SHORT_VIEW_SELECT + "WHERE e.state = :state")
+    List<EventShortView> findShortViewsByState(@Param("state") Event.EventState state);
+
+    @Query(SHORT_VIEW_SELECT + "WHERE e.state = :state AND e.id IN :ids")
+    List<EventShortView> findShortViewsByStateAndIdIn(@Param("state") Event.EventState state,
+                                                      @Param("ids") List<Long> ids);
+
+    @Query(SHORT_VIEW_SELECT + "WHERE e.id IN :ids")
+    List<EventShortView> findShortViewsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query(SHORT_VIEW_SELECT + "WHERE e.initiator.id = :userId AND e.id > :afterId")
+    List<EventShortView> findShortViewsByInitiator(@Param("userId") Long userId,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.commentsCount = COALESCE(e.commentsCount, 0) + :delta WHERE e.id = :eventId")
+    int adjustCommentsCount(@Param("eventId") Long eventId, @Param("delta") long delta);
+
+    @Query("SELECT e.id FROM Event e " +
+            "WHERE e.commentsCount IS NULL OR e.commentsCount <> (SELECT COUNT(c) FROM Comment c " +
+            "    WHERE c.event.id = e.id AND c.status = 'PUBLISHED')")
+    List<Long> findIdsWithStaleCommentsCount();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.commentsCount = (SELECT COUNT(c) FROM Comment c " +
+            "    WHERE c.event.id = e.id AND c.status = 'PUBLISHED') " +
+            "WHERE e.id IN :ids")
+    int reconcileCommentsCount(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = COALESCE(e.confirmedRequests, 0) + :seats " +
+            "WHERE e.id = :eventId AND (e.participantLimit = 0 " +
+            "    OR COALESCE(e.confirmedRequests, 0) + :seats <= e.participantLimit)")
+    int reserveSeats(@Param("eventId") Long eventId, @Param("seats") int seats);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = e.confirmedRequests - :seats " +
+            "WHERE e.id = :eventId AND e.confirmedRequests >= :seats")
+    int releaseSeats(@Param("eventId") Long eventId, @Param("seats") int seats);
+
+    @Query("SELECT COALESCE(e.confirmedRequests, 0) FROM Event e WHERE e.id = :eventId")
+    Integer findConfirmedRequests(@Param("eventId") Long eventId);
+
+    @Query("SELECT e.initiator.id, e.state, e.participantLimit, e.requestModeration, " +
+            "COALESCE(e.confirmedRequests, 0), " +
+            "(SELECT COUNT(r) FROM ParticipationRequest r WHERE r.event.id = e.id AND r.requester.id = :userId) " +
+            "FROM Event e WHERE e.id = :eventId")
+    List<Object[]> findRequestCheckRow(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT e FROM Event e " + ADMIN_EVENTS_FILTER + "ORDER BY e.id")
+    Stream<Event> streamAdminEvents(@Param("users") List<Long> users,
+                                    @Param("states") List<Event.EventState> states,
+                                    @Param("categories") List<Long> categories,
+                                    @Param("rangeStart") LocalDateTime rangeStart,
+                                    @Param("rangeEnd") LocalDateTime rangeEnd);
 }
\ No newline at end of file
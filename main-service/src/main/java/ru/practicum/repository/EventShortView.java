@@ -0,0 +1,23 @@
+package ru.practicum.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class EventShortView {
+    private Long id;
+    private String annotation;
+    private Long categoryId;
+    private String categoryName;
+    private Integer confirmedRequests;
+    private LocalDateTime eventDate;
+    private Long initiatorId;
+    private String initiatorName;
+    private Boolean paid;
+    private String title;
+    private Long views;
+    private Long commentsCount;
+}
\ No newline at end of file
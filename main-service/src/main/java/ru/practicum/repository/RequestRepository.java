@@ -1,13 +1,19 @@
 package ru.practicum.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.entity.ParticipationRequest;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RequestRepository extends JpaRepository<ParticipationRequest, Long> {
@@ -22,9 +28,23 @@ public interface RequestRepository extends JpaRepository<ParticipationRequest, L
     Long countByEventIdAndStatus(@Param("eventId") Long eventId,
                                  @Param("status") ParticipationRequest.Status status);
 
-    boolean existsByRequesterIdAndEventId(Long requesterId, Long eventId);
+    @Query("SELECT r.requester.id FROM ParticipationRequest r WHERE r.event.id = :eventId")
+    List<Long> findRequesterIdsByEventId(@Param("eventId") Long eventId);
 
     Optional<ParticipationRequest> findByIdAndRequesterId(Long requestId, Long requesterId);
 
-    List<ParticipationRequest> findByIdIn(List<Long> requestIds);
+    @Query("SELECT r.id, r.requester.id, r.created FROM ParticipationRequest r " +
+            "WHERE r.event.id = :eventId AND r.status = 'PENDING' AND r.id IN :ids ORDER BY r.id")
+    List<Object[]> findPendingRowsByEventIdAndIdIn(@Param("eventId") Long eventId,
+                                                   @Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EventRepository.EXPORT_FETCH_SIZE))
+    @Query("SELECT r.id, r.requester.id, r.created, r.status FROM ParticipationRequest r " +
+            "WHERE r.event.id = :eventId ORDER BY r.id")
+    Stream<Object[]> streamRowsByEventId(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query("UPDATE ParticipationRequest r SET r.status = :status WHERE r.id IN :ids AND r.status = 'PENDING'")
+    int updatePendingStatus(@Param("ids") Collection<Long> ids,
+                            @Param("status") ParticipationRequest.Status status);
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package ru.practicum.search;
+
+import ru.practicum.entity.Event;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface EventSearchIndex {
+
+    /**
+     * Relevance scores of the best published matches for every word of the query, at most limit of them.
+     */
+    Map<Long, Double> search(String text, int limit);
+
+    /**
+     * Ids of all published events matching every word of the query, in no particular order.
+     */
+    Collection<Long> matchAll(String text);
+
+    /**
+     * The query as an argument for the event_text_matches SQL function, or null when
+     * the database cannot match text itself and callers have to filter by matchAll ids.
+     */
+    default String sqlQuery(String text) {
+        return null;
+    }
+
+    void index(Event event);
+
+    void remove(Long eventId);
+
+    /**
+     * Re-reads published events from the database; a no-op for indexes the database maintains itself.
+     */
+    default void refresh() {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package ru.practicum.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.domain.EventChanged;
+import ru.practicum.entity.Event;
+import ru.practicum.repository.EventRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+public class InMemoryEventSearchIndex implements EventSearchIndex {
+    private final EventRepository eventRepository;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> eventTokens = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Event> events = eventRepository.findAllByState(Event.EventState.PUBLISHED);
+        events.forEach(this::index);
+
+        Set<Long> publishedIds = events.stream().map(Event::getId).collect(Collectors.toSet());
+        lock.writeLock().lock();
+        try {
+            new ArrayList<>(eventTokens.keySet()).stream()
+                    .filter(eventId -> !publishedIds.contains(eventId))
+                    .forEach(this::removeTokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("In-memory search index built for {} published events", events.size());
+    }
+
+    @Override
+    public void refresh() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChanged changed) {
+        index(changed.getEvent());
+    }
+
+    @Override
+    public Map<Long, Double> search(String text, int limit) {
+        lock.readLock().lock();
+        try {
+            return score(text).entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().doubleValue()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Collection<Long> matchAll(String text) {
+        lock.readLock().lock();
+        try {
+            return score(text).keySet();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> score(String text) {
+        List<String> tokens = SearchTokenizer.tokenize(text);
+        Map<Long, Integer> scores = null;
+        for (String token : tokens) {
+            Map<Long, Integer> matches = new HashMap<>();
+            postings.subMap(token, true, token + Character.MAX_VALUE, false).values()
+                    .forEach(posting -> posting.forEach((id, freq) -> matches.merge(id, freq, Integer::sum)));
+
+            if (scores == null) {
+                scores = matches;
+            } else {
+                scores.keySet().retainAll(matches.keySet());
+                for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                    entry.setValue(entry.getValue() + matches.get(entry.getKey()));
+                }
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores != null ? scores : Map.of();
+    }
+
+    @Override
+    public void index(Event event) {
+        if (event.getState() != Event.EventState.PUBLISHED) {
+            remove(event.getId());
+            return;
+        }
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        SearchTokenizer.tokenize(event.getAnnotation()).forEach(token -> frequencies.merge(token, 1, Integer::sum));
+        SearchTokenizer.tokenize(event.getDescription()).forEach(token -> frequencies.merge(token, 1, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            removeTokens(event.getId());
+            frequencies.forEach((token, freq) ->
+                    postings.computeIfAbsent(token, k -> new HashMap<>()).put(event.getId(), freq));
+            eventTokens.put(event.getId(), frequencies.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            removeTokens(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeTokens(Long eventId) {
+        Set<String> tokens = eventTokens.remove(eventId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<Long, Integer> posting = postings.get(token);
+            posting.remove(eventId);
+            if (posting.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package ru.practicum.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.entity.Event;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+public class PostgresEventSearchIndex implements EventSearchIndex {
+    /**
+     * The indexed document. Queries repeat the same expression so the planner picks up
+     * the expression index, which avoids a stored column and the table rewrite it needs.
+     */
+    public static final String DOCUMENT = "to_tsvector('simple', " +
+            "coalesce(annotation, '') || ' ' || coalesce(description, ''))";
+
+    private static final String INDEX_NAME = "idx_events_search_document";
+
+    private static final String INDEX_VALID = "SELECT i.indisvalid FROM pg_index i " +
+            "JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = ?";
+
+    private static final String DROP_INDEX = "DROP INDEX CONCURRENTLY IF EXISTS " + INDEX_NAME;
+
+    private static final String CREATE_INDEX = "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + INDEX_NAME +
+            " ON events USING GIN ((" + DOCUMENT + "))";
+
+    private static final String SEARCH = "SELECT id, ts_rank(" + DOCUMENT + ", to_tsquery('simple', :query)) " +
+            "AS score FROM events " +
+            "WHERE state = 'PUBLISHED' AND " + DOCUMENT + " @@ to_tsquery('simple', :query) " +
+            "ORDER BY score DESC, id " +
+            "LIMIT :limit";
+
+    private static final String MATCH_ALL = "SELECT id FROM events " +
+            "WHERE state = 'PUBLISHED' AND " + DOCUMENT + " @@ to_tsquery('simple', :query)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Builds the GIN index without blocking writes. A concurrent build that was
+     * interrupted leaves an invalid index behind, which is dropped and built again.
+     */
+    public void createIndex() {
+        JdbcTemplate jdbc = jdbcTemplate.getJdbcTemplate();
+        List<Boolean> valid = jdbc.queryForList(INDEX_VALID, Boolean.class, INDEX_NAME);
+        if (!valid.isEmpty() && valid.get(0)) {
+            return;
+        }
+        if (!valid.isEmpty()) {
+            log.warn("Full-text search index {} is invalid, rebuilding it", INDEX_NAME);
+            jdbc.execute(DROP_INDEX);
+        }
+        jdbc.execute(CREATE_INDEX);
+        log.info("Full-text search index {} is in place", INDEX_NAME);
+    }
+
+    @Override
+    public Map<Long, Double> search(String text, int limit) {
+        String query = sqlQuery(text);
+        if (query == null) {
+            return Map.of();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("limit", limit);
+        jdbcTemplate.query(SEARCH, params, rs -> {
+            scores.put(rs.getLong("id"), rs.getDouble("score"));
+        });
+        return scores;
+    }
+
+    @Override
+    public Collection<Long> matchAll(String text) {
+        String query = sqlQuery(text);
+        if (query == null) {
+            return List.of();
+        }
+
+        return jdbcTemplate.queryForList(MATCH_ALL, new MapSqlParameterSource("query", query), Long.class);
+    }
+
+    @Override
+    public String sqlQuery(String text) {
+        List<String> tokens = SearchTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+
+        return tokens.stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    @Override
+    public void index(Event event) {
+    }
+
+    @Override
+    public void remove(Long eventId) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package ru.practicum.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers event_text_matches(eventId, query) for JPQL. On PostgreSQL it matches
+ * the tsquery against the indexed text document, so text filters stay uncapped in
+ * SQL; elsewhere the text is matched through ids and the function only checks
+ * that no query was given.
+ */
+public class SearchFunctionContributor implements FunctionContributor {
+    public static final String TEXT_MATCHES = "event_text_matches";
+
+    @Override
+    public void contributeFunctions(FunctionContributions contributions) {
+        String pattern = contributions.getDialect() instanceof PostgreSQLDialect
+                ? "(?1 in (select s.id from events s where " + PostgresEventSearchIndex.DOCUMENT
+                        + " @@ to_tsquery('simple', ?2)))"
+                : "(?2 is null)";
+        contributions.getFunctionRegistry().registerPattern(TEXT_MATCHES, pattern,
+                contributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
\ No newline at end of file
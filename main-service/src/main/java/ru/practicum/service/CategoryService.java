@@ -1,6 +1,7 @@
 package ru.practicum.service;
 
 import ru.practicum.dto.CategoryDto;
+import ru.practicum.dto.ImportResultDto;
 import ru.practicum.dto.NewCategoryDto;
 
 import java.util.List;
@@ -8,6 +9,8 @@ import java.util.List;
 public interface CategoryService {
     CategoryDto createCategory(NewCategoryDto categoryDto);
 
+    List<ImportResultDto> importCategories(List<NewCategoryDto> categoryDtos);
+
     void deleteCategory(Long catId);
 
     CategoryDto updateCategory(Long catId, CategoryDto categoryDto);
@@ -1,11 +1,14 @@
 package ru.practicum.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.domain.CategoryChanged;
 import ru.practicum.dto.CategoryDto;
+import ru.practicum.dto.ImportResultDto;
 import ru.practicum.dto.NewCategoryDto;
 import ru.practicum.entity.Category;
 import ru.practicum.exception.ConflictException;
@@ -14,7 +17,10 @@ import ru.practicum.mapper.CategoryMapper;
 import ru.practicum.repository.CategoryRepository;
 import ru.practicum.repository.EventRepository;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +30,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final EventRepository eventRepository;
     private final CategoryMapper categoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -34,9 +41,39 @@ public class CategoryServiceImpl implements CategoryService {
 
         Category category = categoryMapper.toEntity(categoryDto);
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChanged(savedCategory));
         return categoryMapper.toDto(savedCategory);
     }
 
+    @Override
+    @Transactional
+    public List<ImportResultDto> importCategories(List<NewCategoryDto> categoryDtos) {
+        Set<String> taken = new HashSet<>(categoryRepository.findExistingNames(categoryDtos.stream()
+                .map(NewCategoryDto::getName)
+                .collect(Collectors.toSet())));
+        List<ImportResultDto> results = new ArrayList<>(categoryDtos.size());
+        List<ImportResultDto> createdResults = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+
+        for (NewCategoryDto categoryDto : categoryDtos) {
+            if (!taken.add(categoryDto.getName())) {
+                results.add(ImportResultDto.failed("Category name already exists"));
+                continue;
+            }
+            ImportResultDto result = ImportResultDto.created(null);
+            createdResults.add(result);
+            categories.add(categoryMapper.toEntity(categoryDto));
+            results.add(result);
+        }
+
+        categoryRepository.saveAll(categories);
+        for (int i = 0; i < categories.size(); i++) {
+            createdResults.get(i).setId(categories.get(i).getId());
+            eventPublisher.publishEvent(new CategoryChanged(categories.get(i)));
+        }
+        return results;
+    }
+
     @Override
     @Transactional
     public void deleteCategory(Long catId) {
@@ -48,6 +85,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoryChanged(category));
     }
 
     @Override
@@ -63,6 +101,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         category.setName(categoryDto.getName());
         Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChanged(updatedCategory));
         return categoryMapper.toDto(updatedCategory);
     }
 
@@ -0,0 +1,42 @@
+package ru.practicum.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.catalog.EventShortReadModel;
+import ru.practicum.repository.EventRepository;
+import ru.practicum.versioning.ResourceVersions;
+
+import java.util.List;
+
+/**
+ * Safety net for the comments counter that CommentServiceImpl keeps in step with
+ * every comment change: recounts events whose stored value drifted (or was never
+ * filled, right after startup) and invalidates what was cached for them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "public-read.enabled", havingValue = "false", matchIfMissing = true)
+public class CommentCountReconciler {
+
+    private final EventRepository eventRepository;
+    private final EventShortReadModel shortReadModel;
+    private final ResourceVersions versions;
+
+    @Scheduled(fixedDelayString = "${comments.count.reconcile.interval-ms:600000}",
+            initialDelayString = "${comments.count.reconcile.initial-delay-ms:0}")
+    public void reconcile() {
+        List<Long> stale = eventRepository.findIdsWithStaleCommentsCount();
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        int corrected = eventRepository.reconcileCommentsCount(stale);
+        log.warn("Comments count corrected for {} events", corrected);
+        shortReadModel.rebuild();
+        versions.bumpEvents(stale);
+    }
+}
\ No newline at end of file
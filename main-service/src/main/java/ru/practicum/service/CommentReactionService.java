@@ -1,11 +1,14 @@
 package ru.practicum.service;
 
+import ru.practicum.dto.comment.CommentReactionDto;
 import ru.practicum.entity.ReactionType;
 
 public interface CommentReactionService {
 
     void addReaction(Long userId, Long commentId, ReactionType reactionType);
 
+    CommentReactionDto react(Long userId, Long commentId, ReactionType reactionType);
+
     void removeReaction(Long userId, Long commentId);
 
     void changeReaction(Long userId, Long commentId, ReactionType newReactionType);
@@ -2,15 +2,23 @@ package ru.practicum.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.domain.CommentChanged;
+import ru.practicum.domain.CommentReactionChanged;
+import ru.practicum.dto.comment.CommentReactionDto;
 import ru.practicum.entity.*;
 import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.NotFoundException;
+import ru.practicum.reaction.ReactionStore;
+import ru.practicum.reaction.StoredReaction;
 import ru.practicum.repository.CommentReactionRepository;
 import ru.practicum.repository.CommentRepository;
 import ru.practicum.repository.UserRepository;
 
+import java.time.LocalDateTime;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -20,33 +28,23 @@ public class CommentReactionServiceImpl implements CommentReactionService {
     private final CommentReactionRepository reactionRepository;
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReactionStore reactionStore;
 
     @Override
     @Transactional
     public void addReaction(Long userId, Long commentId, ReactionType reactionType) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
-
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new NotFoundException("Comment not found"));
-
-        if (comment.getStatus() != CommentStatus.PUBLISHED) {
-            throw new ConflictException("Cannot react to unpublished comment");
+        StoredReaction stored = reactionStore.upsert(userId, commentId, reactionType, LocalDateTime.now());
+        if (stored == null) {
+            requireReactable(userId, commentId);
+            throw new ConflictException("User has already reacted to this comment");
         }
-
-        if (reactionRepository.existsByCommentIdAndUserId(commentId, userId)) {
+        if (stored.getPreviousType() != null) {
+            // Adding never switches an existing reaction; the exception rolls the switch back
             throw new ConflictException("User has already reacted to this comment");
         }
 
-        CommentReaction reaction = CommentReaction.builder()
-                .comment(comment)
-                .user(user)
-                .type(reactionType)
-                .build();
-
-        reactionRepository.save(reaction);
-
-        updateCommentReactionCounts(comment);
+        publishDelta(commentId, stored.getEventId(), reactionType, null);
 
         log.info("Reaction added: comment={}, user={}, type={}",
                 commentId, userId, reactionType);
@@ -54,14 +52,34 @@ public class CommentReactionServiceImpl implements CommentReactionService {
 
     @Override
     @Transactional
-    public void removeReaction(Long userId, Long commentId) {
-        CommentReaction reaction = reactionRepository.findByCommentIdAndUserId(commentId, userId)
-                .orElseThrow(() -> new NotFoundException("Reaction not found"));
+    public CommentReactionDto react(Long userId, Long commentId, ReactionType reactionType) {
+        StoredReaction stored = reactionStore.upsert(userId, commentId, reactionType, LocalDateTime.now());
+
+        if (stored == null) {
+            // Nothing was written: either the reaction is already in place or the comment is out of reach
+            requireReactable(userId, commentId);
+        } else {
+            publishDelta(commentId, stored.getEventId(), reactionType, stored.getPreviousType());
+            log.info("Reaction set: comment={}, user={}, type={}, previous={}",
+                    commentId, userId, reactionType, stored.getPreviousType());
+        }
 
-        Comment comment = reaction.getComment();
-        reactionRepository.delete(reaction);
+        return CommentReactionDto.builder()
+                .commentId(commentId)
+                .userId(userId)
+                .reactionType(reactionType.name())
+                .build();
+    }
 
-        updateCommentReactionCounts(comment);
+    @Override
+    @Transactional
+    public void removeReaction(Long userId, Long commentId) {
+        StoredReaction removed = reactionStore.remove(userId, commentId);
+        if (removed == null) {
+            throw new NotFoundException("Reaction not found");
+        }
+
+        publishDelta(commentId, removed.getEventId(), null, removed.getPreviousType());
 
         log.info("Reaction removed: comment={}, user={}", commentId, userId);
     }
@@ -69,18 +87,20 @@ public class CommentReactionServiceImpl implements CommentReactionService {
     @Override
     @Transactional
     public void changeReaction(Long userId, Long commentId, ReactionType newReactionType) {
-        CommentReaction reaction = reactionRepository.findByCommentIdAndUserId(commentId, userId)
-                .orElseThrow(() -> new NotFoundException("Reaction not found"));
-
-        if (reaction.getType() == newReactionType) {
+        StoredReaction stored = reactionStore.upsert(userId, commentId, newReactionType, LocalDateTime.now());
+        if (stored == null) {
+            if (!reactionRepository.existsByCommentIdAndUserId(commentId, userId)) {
+                throw new NotFoundException("Reaction not found");
+            }
+            requireReactable(userId, commentId);
             throw new ConflictException("User already has this reaction type");
         }
+        if (stored.getPreviousType() == null) {
+            // Changing needs an existing reaction; the exception rolls the fresh insert back
+            throw new NotFoundException("Reaction not found");
+        }
 
-        Comment comment = reaction.getComment();
-        reaction.setType(newReactionType);
-        reactionRepository.save(reaction);
-
-        updateCommentReactionCounts(comment);
+        publishDelta(commentId, stored.getEventId(), newReactionType, stored.getPreviousType());
 
         log.info("Reaction changed: comment={}, user={}, newType={}",
                 commentId, userId, newReactionType);
@@ -96,12 +116,24 @@ public class CommentReactionServiceImpl implements CommentReactionService {
         return reactionRepository.countByCommentIdAndType(commentId, ReactionType.DISLIKE);
     }
 
-    private void updateCommentReactionCounts(Comment comment) {
-        Long likes = getLikesCount(comment.getId());
-        Long dislikes = getDislikesCount(comment.getId());
+    private void requireReactable(Long userId, Long commentId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found");
+        }
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new NotFoundException("Comment not found"));
+        if (comment.getStatus() != CommentStatus.PUBLISHED) {
+            throw new ConflictException("Cannot react to unpublished comment");
+        }
+    }
+
+    private void publishDelta(Long commentId, Long eventId, ReactionType added, ReactionType removed) {
+        eventPublisher.publishEvent(new CommentReactionChanged(commentId,
+                delta(ReactionType.LIKE, added, removed), delta(ReactionType.DISLIKE, added, removed)));
+        eventPublisher.publishEvent(new CommentChanged(eventId, false));
+    }
 
-        comment.setLikesCount(likes);
-        comment.setDislikesCount(dislikes);
-        commentRepository.save(comment);
+    private static long delta(ReactionType counted, ReactionType added, ReactionType removed) {
+        return (added == counted ? 1 : 0) - (removed == counted ? 1 : 0);
     }
 }
\ No newline at end of file
@@ -1,18 +1,23 @@
 package ru.practicum.service;
 
 import ru.practicum.dto.comment.CommentDto;
+import ru.practicum.dto.comment.CommentTreeDto;
 import ru.practicum.dto.comment.NewCommentDto;
 import ru.practicum.dto.comment.UpdateCommentRequest;
 import ru.practicum.entity.CommentStatus;
+import ru.practicum.pagination.CursorPage;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface CommentService {
 
     CommentDto getCommentById(Long commentId);
 
-    List<CommentDto> getEventComments(Long eventId, int from, int size);
+    CursorPage<CommentDto> getEventComments(Long eventId, String cursor, int from, int size);
+
+    CursorPage<CommentTreeDto> getEventCommentTree(Long eventId, String cursor, int from, int size, int replies);
 
     List<CommentDto> getCommentReplies(Long commentId, int from, int size);
 
@@ -22,11 +27,14 @@ public interface CommentService {
 
     void deleteComment(Long userId, Long commentId);
 
-    List<CommentDto> getUserComments(Long userId, int from, int size);
+    CursorPage<CommentDto> getUserComments(Long userId, String cursor, int from, int size);
+
+    CursorPage<CommentDto> getAdminComments(List<Long> users, List<Long> events,
+                                            List<CommentStatus> statuses, String text,
+                                            String cursor, int from, int size);
 
-    List<CommentDto> getAdminComments(List<Long> users, List<Long> events,
-                                      List<CommentStatus> statuses, String text,
-                                      int from, int size);
+    long exportAdminComments(List<Long> users, List<Long> events, List<CommentStatus> statuses, String text,
+                             Consumer<? super CommentDto> sink);
 
     CommentDto moderateComment(Long commentId, CommentStatus newStatus, String moderationReason);
 
@@ -3,11 +3,16 @@ package ru.practicum.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.bulk.StreamingExporter;
+import ru.practicum.domain.CommentChanged;
 import ru.practicum.dto.comment.CommentDto;
+import ru.practicum.dto.comment.CommentTreeDto;
 import ru.practicum.dto.comment.NewCommentDto;
 import ru.practicum.dto.comment.UpdateCommentRequest;
 import ru.practicum.entity.*;
@@ -15,12 +20,15 @@ import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.exception.ValidationException;
 import ru.practicum.mapper.CommentMapper;
+import ru.practicum.pagination.CursorPage;
+import ru.practicum.pagination.PageCursor;
 import ru.practicum.repository.CommentRepository;
 import ru.practicum.repository.EventRepository;
 import ru.practicum.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,11 +36,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class CommentServiceImpl implements CommentService {
+    private static final String SORT_ID = "ID";
 
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final CommentMapper commentMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StreamingExporter exporter;
 
     @Value("${comment.moderation.enabled:false}")
     private boolean moderationEnabled;
@@ -53,23 +64,51 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
-    public List<CommentDto> getEventComments(Long eventId, int from, int size) {
-        Pageable pageable = PageRequest.of(from / size, size);
+    public CursorPage<CommentDto> getEventComments(Long eventId, String cursor, int from, int size) {
+        Long afterId = cursor != null ? PageCursor.decode(cursor, SORT_ID).getId() : 0L;
+        Pageable pageable = PageCursor.pageable(cursor, from, size, Sort.by("id"));
 
-        List<Comment> comments = commentRepository.findByEventIdAndStatusAndParentCommentIsNull(
-                eventId, CommentStatus.PUBLISHED, pageable);
+        List<Comment> comments = commentRepository.findByEventIdAndStatusAndParentCommentIsNullAndIdGreaterThan(
+                eventId, CommentStatus.PUBLISHED, afterId, pageable);
 
-        return comments.stream()
-                .map(commentMapper::toDto)
-                .collect(Collectors.toList());
+        return toCursorPage(comments, comments, size);
+    }
+
+    @Override
+    public CursorPage<CommentTreeDto> getEventCommentTree(Long eventId, String cursor, int from, int size,
+                                                          int replies) {
+        Long afterId = cursor != null ? PageCursor.decode(cursor, SORT_ID).getId() : 0L;
+        Pageable pageable = PageCursor.pageable(cursor, from, size, Sort.by("id"));
+
+        List<Object[]> rows = commentRepository.findCommentTreeRows(eventId, afterId,
+                pageable.getPageSize(), pageable.getOffset(), replies);
+
+        Map<Long, CommentTreeDto> nodes = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            CommentTreeDto node = commentMapper.toTreeDto(row);
+            nodes.put(node.getComment().getId(), node);
+        }
+
+        List<CommentTreeDto> roots = new ArrayList<>();
+        for (CommentTreeDto node : nodes.values()) {
+            Long parentId = node.getComment().getParentCommentId();
+            if (parentId == null) {
+                roots.add(node);
+            } else if (nodes.containsKey(parentId)) {
+                nodes.get(parentId).getReplies().add(node);
+            }
+        }
+
+        return new CursorPage<>(roots, CursorPage.nextCursor(roots, size,
+                node -> PageCursor.of(SORT_ID, null, node.getComment().getId())));
     }
 
     @Override
     public List<CommentDto> getCommentReplies(Long commentId, int from, int size) {
-        Pageable pageable = PageRequest.of(from / size, size);
+        Pageable pageable = PageRequest.of(from / size, size, Sort.by("id"));
 
         List<Comment> replies = commentRepository.findByParentCommentIdAndStatus(
-                commentId, CommentStatus.PUBLISHED);
+                commentId, CommentStatus.PUBLISHED, pageable);
 
         return replies.stream()
                 .map(commentMapper::toDto)
@@ -77,14 +116,13 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
-    public List<CommentDto> getUserComments(Long userId, int from, int size) {
-        Pageable pageable = PageRequest.of(from / size, size);
+    public CursorPage<CommentDto> getUserComments(Long userId, String cursor, int from, int size) {
+        Long afterId = cursor != null ? PageCursor.decode(cursor, SORT_ID).getId() : 0L;
+        Pageable pageable = PageCursor.pageable(cursor, from, size, Sort.by("id"));
 
-        List<Comment> comments = commentRepository.findByAuthorId(userId, pageable);
+        List<Comment> comments = commentRepository.findByAuthorIdAndIdGreaterThan(userId, afterId, pageable);
 
-        return comments.stream()
-                .map(commentMapper::toDto)
-                .collect(Collectors.toList());
+        return toCursorPage(comments, comments, size);
     }
 
     @Override
@@ -123,6 +161,7 @@ public class CommentServiceImpl implements CommentService {
         }
 
         Comment savedComment = commentRepository.save(comment);
+        onStatusChanged(event.getId(), null, savedComment.getStatus());
         log.info("Comment created: id={}, event={}, author={}",
                 savedComment.getId(), event.getId(), author.getId());
 
@@ -139,6 +178,7 @@ public class CommentServiceImpl implements CommentService {
         if (comment.getStatus() == CommentStatus.DELETED) {
             throw new ConflictException("Cannot update deleted comment");
         }
+        CommentStatus previousStatus = comment.getStatus();
 
         if (updateRequest.getText() != null && !updateRequest.getText().trim().isEmpty()) {
             comment.setText(updateRequest.getText());
@@ -150,6 +190,7 @@ public class CommentServiceImpl implements CommentService {
 
         comment.setUpdated(LocalDateTime.now());
         Comment updatedComment = commentRepository.save(comment);
+        onStatusChanged(comment.getEvent().getId(), previousStatus, updatedComment.getStatus());
 
         return commentMapper.toDto(updatedComment);
     }
@@ -160,32 +201,48 @@ public class CommentServiceImpl implements CommentService {
         Comment comment = commentRepository.findByIdAndAuthorId(commentId, userId)
                 .orElseThrow(() -> new NotFoundException("Comment not found or not owned by user"));
 
+        CommentStatus previousStatus = comment.getStatus();
         comment.setStatus(CommentStatus.DELETED);
         comment.setUpdated(LocalDateTime.now());
         commentRepository.save(comment);
+        onStatusChanged(comment.getEvent().getId(), previousStatus, CommentStatus.DELETED);
 
         log.info("Comment deleted by author: id={}, author={}", commentId, userId);
     }
 
     @Override
-    public List<CommentDto> getAdminComments(List<Long> users, List<Long> events,
-                                             List<CommentStatus> statuses, String text,
-                                             int from, int size) {
-        Pageable pageable = PageRequest.of(from / size, size);
+    public CursorPage<CommentDto> getAdminComments(List<Long> users, List<Long> events,
+                                                   List<CommentStatus> statuses, String text,
+                                                   String cursor, int from, int size) {
+        Long afterId = cursor != null ? PageCursor.decode(cursor, SORT_ID).getId() : 0L;
+        Pageable pageable = PageCursor.pageable(cursor, from, size, Sort.by("id"));
 
         List<Comment> comments = commentRepository.findAdminComments(
-                users, events, statuses, pageable);
+                users, events, statuses, afterId, pageable);
 
+        List<Comment> filtered = comments;
         if (text != null && !text.trim().isEmpty()) {
             String searchText = text.toLowerCase().trim();
-            comments = comments.stream()
+            filtered = comments.stream()
                     .filter(c -> c.getText().toLowerCase().contains(searchText))
                     .collect(Collectors.toList());
         }
 
-        return comments.stream()
-                .map(commentMapper::toDto)
-                .collect(Collectors.toList());
+        return toCursorPage(comments, filtered, size);
+    }
+
+    @Override
+    public long exportAdminComments(List<Long> users, List<Long> events, List<CommentStatus> statuses, String text,
+                                    Consumer<? super CommentDto> sink) {
+        String pattern = null;
+        if (text != null && !text.trim().isEmpty()) {
+            pattern = "%" + text.toLowerCase().trim()
+                    .replace("\\", "\\\\")
+                    .replace("%", "\\%")
+                    .replace("_", "\\_") + "%";
+        }
+        return exporter.drain(commentRepository.streamAdminComments(users, events, statuses, pattern),
+                commentMapper::toDto, sink);
     }
 
     @Override
@@ -198,10 +255,12 @@ public class CommentServiceImpl implements CommentService {
             throw new ConflictException("Cannot moderate deleted comment");
         }
 
+        CommentStatus previousStatus = comment.getStatus();
         comment.setStatus(newStatus);
         comment.setUpdated(LocalDateTime.now());
 
         Comment moderatedComment = commentRepository.save(comment);
+        onStatusChanged(comment.getEvent().getId(), previousStatus, newStatus);
 
         log.info("Comment moderated: id={}, newStatus={}, reason={}",
                 commentId, newStatus, moderationReason);
@@ -216,10 +275,28 @@ public class CommentServiceImpl implements CommentService {
                 .orElseThrow(() -> new NotFoundException("Comment not found"));
 
         commentRepository.delete(comment);
+        onStatusChanged(comment.getEvent().getId(), comment.getStatus(), null);
 
         log.info("Comment permanently deleted by admin: id={}", commentId);
     }
 
+    private void onStatusChanged(Long eventId, CommentStatus before, CommentStatus after) {
+        long delta = (after == CommentStatus.PUBLISHED ? 1 : 0) - (before == CommentStatus.PUBLISHED ? 1 : 0);
+        if (delta != 0) {
+            eventRepository.adjustCommentsCount(eventId, delta);
+        }
+        eventPublisher.publishEvent(new CommentChanged(eventId, delta != 0));
+    }
+
+    private CursorPage<CommentDto> toCursorPage(List<Comment> loaded, List<Comment> visible, int size) {
+        List<CommentDto> items = visible.stream()
+                .map(commentMapper::toDto)
+                .collect(Collectors.toList());
+
+        return new CursorPage<>(items, CursorPage.nextCursor(loaded, size,
+                comment -> PageCursor.of(SORT_ID, null, comment.getId())));
+    }
+
     @Override
     public Long getEventCommentsCount(Long eventId) {
         return commentRepository.countByEventIdAndStatus(eventId, CommentStatus.PUBLISHED);
@@ -2,10 +2,12 @@ package ru.practicum.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.domain.CompilationChanged;
 import ru.practicum.dto.CompilationDto;
 import ru.practicum.dto.NewCompilationDto;
 import ru.practicum.dto.UpdateCompilationRequest;
@@ -13,13 +15,12 @@ import ru.practicum.entity.Compilation;
 import ru.practicum.entity.Event;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.mapper.CompilationMapper;
+import ru.practicum.mapper.EventMapper;
 import ru.practicum.repository.CompilationRepository;
 import ru.practicum.repository.EventRepository;
+import ru.practicum.repository.EventShortView;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,7 +32,8 @@ public class CompilationServiceImpl implements CompilationService {
     private final CompilationRepository compilationRepository;
     private final EventRepository eventRepository;
     private final CompilationMapper compilationMapper;
-    private final CommentService commentService;
+    private final EventMapper eventMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -43,8 +45,9 @@ public class CompilationServiceImpl implements CompilationService {
 
         Compilation compilation = compilationMapper.toEntity(compilationDto, events);
         Compilation savedCompilation = compilationRepository.save(compilation);
+        eventPublisher.publishEvent(new CompilationChanged(savedCompilation.getId()));
 
-        return enrichCompilationWithCommentsCount(savedCompilation);
+        return toDto(savedCompilation);
     }
 
     @Override
@@ -54,6 +57,7 @@ public class CompilationServiceImpl implements CompilationService {
             throw new NotFoundException("Compilation with id=" + compId + " was not found");
         }
         compilationRepository.deleteById(compId);
+        eventPublisher.publishEvent(new CompilationChanged(compId));
     }
 
     @Override
@@ -76,7 +80,8 @@ public class CompilationServiceImpl implements CompilationService {
         }
 
         Compilation updatedCompilation = compilationRepository.save(compilation);
-        return enrichCompilationWithCommentsCount(updatedCompilation);
+        eventPublisher.publishEvent(new CompilationChanged(compId));
+        return toDto(updatedCompilation);
     }
 
     @Override
@@ -90,9 +95,7 @@ public class CompilationServiceImpl implements CompilationService {
             compilations = compilationRepository.findAll(pageable).getContent();
         }
 
-        return compilations.stream()
-                .map(this::enrichCompilationWithCommentsCount)
-                .collect(Collectors.toList());
+        return toDtos(compilations);
     }
 
     @Override
@@ -100,28 +103,39 @@ public class CompilationServiceImpl implements CompilationService {
         Compilation compilation = compilationRepository.findById(compId)
                 .orElseThrow(() -> new NotFoundException("Compilation with id=" + compId + " was not found"));
 
-        return enrichCompilationWithCommentsCount(compilation);
+        return toDto(compilation);
     }
 
-    private CompilationDto enrichCompilationWithCommentsCount(Compilation compilation) {
-        CompilationDto dto = compilationMapper.toDto(compilation);
-
-        if (dto.getEvents() != null && !dto.getEvents().isEmpty()) {
-            List<Long> eventIds = dto.getEvents().stream()
-                    .map(event -> event.getId())
-                    .collect(Collectors.toList());
+    private CompilationDto toDto(Compilation compilation) {
+        return toDtos(List.of(compilation)).get(0);
+    }
 
-            Map<Long, Long> commentsCountMap = commentService.getCommentsCountForEvents(eventIds);
+    private List<CompilationDto> toDtos(List<Compilation> compilations) {
+        if (compilations.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-            dto.setEvents(dto.getEvents().stream()
-                    .map(eventShortDto -> {
-                        Long commentsCount = commentsCountMap.getOrDefault(eventShortDto.getId(), 0L);
-                        eventShortDto.setCommentsCount(commentsCount);
-                        return eventShortDto;
-                    })
-                    .collect(Collectors.toList()));
+        Map<Long, List<Long>> eventIdsByCompilation = new HashMap<>();
+        for (Object[] row : compilationRepository.findEventIdsByCompilationIds(
+                compilations.stream().map(Compilation::getId).collect(Collectors.toList()))) {
+            eventIdsByCompilation.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
         }
 
-        return dto;
+        List<Long> eventIds = eventIdsByCompilation.values().stream()
+                .flatMap(List::stream)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, EventShortView> eventsById = eventIds.isEmpty() ? Collections.emptyMap()
+                : eventRepository.findShortViewsByIdIn(eventIds).stream()
+                .collect(Collectors.toMap(EventShortView::getId, event -> event));
+
+        return compilations.stream()
+                .map(compilation -> compilationMapper.toDto(compilation,
+                        eventIdsByCompilation.getOrDefault(compilation.getId(), Collections.emptyList()).stream()
+                                .map(eventsById::get)
+                                .filter(Objects::nonNull)
+                                .map(eventMapper::toShortDto)
+                                .collect(Collectors.toList())))
+                .collect(Collectors.toList());
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package ru.practicum.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import ru.practicum.client.StatsClient;
+import ru.practicum.dto.ViewStatsDto;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventEnrichmentService {
+    private static final String APP_NAME = "ewm-main-service";
+    private static final String EVENT_URI_PREFIX = "/events/";
+
+    private final StatsClient statsClient;
+    private final ViewService viewService;
+    private final AsyncTaskExecutor enrichmentExecutor;
+
+    @Value("${events.enrichment.hit-timeout-ms:1000}")
+    private long hitTimeoutMs;
+
+    @Value("${events.enrichment.stats-timeout-ms:1000}")
+    private long statsTimeoutMs;
+
+    public CompletableFuture<Void> sendHit(String uri, String ip) {
+        return CompletableFuture.runAsync(() -> statsClient.hit(APP_NAME, uri, ip), enrichmentExecutor)
+                .orTimeout(hitTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("Failed to send stats hit for {}: {}", uri, e.toString());
+                    return null;
+                });
+    }
+
+    public CompletableFuture<Map<Long, Long>> fetchViews(List<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+        return CompletableFuture.supplyAsync(() -> loadViews(eventIds), enrichmentExecutor)
+                .orTimeout(statsTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("Failed to get views from stats service: {}", e.toString());
+                    return localViews(eventIds);
+                });
+    }
+
+    private Map<Long, Long> loadViews(List<Long> eventIds) {
+        List<String> uris = eventIds.stream()
+                .map(id -> EVENT_URI_PREFIX + id)
+                .collect(Collectors.toList());
+
+        List<ViewStatsDto> stats = statsClient.getStats(
+                LocalDateTime.now().minusYears(1), LocalDateTime.now(), uris, true);
+
+        Map<Long, Long> views = new HashMap<>();
+        for (ViewStatsDto stat : stats) {
+            try {
+                views.put(Long.parseLong(stat.getUri().substring(EVENT_URI_PREFIX.length())), stat.getHits());
+            } catch (Exception e) {
+                log.warn("Failed to parse event id from uri: {}", stat.getUri());
+            }
+        }
+        return views;
+    }
+
+    private Map<Long, Long> localViews(List<Long> eventIds) {
+        Map<Long, Long> views = new HashMap<>();
+        for (Long eventId : eventIds) {
+            views.put(eventId, viewService.getViews(eventId));
+        }
+        return views;
+    }
+}
\ No newline at end of file
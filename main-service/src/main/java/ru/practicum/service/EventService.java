@@ -2,29 +2,46 @@ package ru.practicum.service;
 
 import ru.practicum.dto.*;
 import ru.practicum.entity.Event;
+import ru.practicum.geo.GeoArea;
+import ru.practicum.pagination.CursorPage;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface EventService {
     EventFullDto createEvent(Long userId, NewEventDto eventDto);
 
-    List<EventShortDto> getEventsByInitiator(Long userId, int from, int size);
+    List<ImportResultDto> importEvents(List<EventImportDto> eventImports);
+
+    CursorPage<EventShortDto> getEventsByInitiator(Long userId, String cursor, int from, int size);
 
     EventFullDto getEventByInitiator(Long userId, Long eventId);
 
     EventFullDto updateEventByInitiator(Long userId, Long eventId, UpdateEventUserRequest updateRequest);
 
-    List<EventFullDto> getAdminEvents(List<Long> users, List<Event.EventState> states, List<Long> categories,
-                                      LocalDateTime rangeStart, LocalDateTime rangeEnd, int from, int size);
+    CursorPage<EventFullDto> getAdminEvents(List<Long> users, List<Event.EventState> states, List<Long> categories,
+                                            LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                            String cursor, int from, int size);
+
+    long countAdminEvents(List<Long> users, List<Event.EventState> states, List<Long> categories,
+                          LocalDateTime rangeStart, LocalDateTime rangeEnd);
+
+    long exportAdminEvents(List<Long> users, List<Event.EventState> states, List<Long> categories,
+                           LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                           Consumer<? super EventFullDto> sink);
 
     EventFullDto updateEventByAdmin(Long eventId, UpdateEventAdminRequest updateRequest);
 
-    EventFullDto getPublicEvent(Long eventId, HttpServletRequest request);
+    CompletableFuture<EventFullDto> getPublicEvent(Long eventId, HttpServletRequest request);
+
+    CompletableFuture<Long> recordPublicView(Long eventId, HttpServletRequest request);
 
-    List<EventShortDto> getPublicEvents(String text, List<Long> categories, Boolean paid,
-                                        LocalDateTime rangeStart, LocalDateTime rangeEnd,
-                                        Boolean onlyAvailable, String sort,
-                                        int from, int size, HttpServletRequest request);
+    CompletableFuture<CursorPage<EventShortDto>> getPublicEvents(String text, List<Long> categories, Boolean paid,
+                                                                 LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                                 Boolean onlyAvailable, GeoArea area, String sort,
+                                                                 String cursor, int from, int size,
+                                                                 HttpServletRequest request);
 }
\ No newline at end of file
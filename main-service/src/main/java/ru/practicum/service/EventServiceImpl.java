@@ -2,12 +2,17 @@ package ru.practicum.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.client.StatsClient;
+import ru.practicum.bulk.StreamingExporter;
+import ru.practicum.catalog.CatalogQuery;
+import ru.practicum.catalog.EventShortReadModel;
+import ru.practicum.catalog.PublishedEventCatalog;
+import ru.practicum.domain.EventChanged;
 import ru.practicum.dto.*;
 import ru.practicum.entity.Category;
 import ru.practicum.entity.Event;
@@ -16,15 +21,24 @@ import ru.practicum.entity.User;
 import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.exception.ValidationException;
+import ru.practicum.geo.GeoArea;
 import ru.practicum.mapper.EventMapper;
+import ru.practicum.pagination.CursorPage;
+import ru.practicum.pagination.EventSort;
+import ru.practicum.pagination.PageCursor;
 import ru.practicum.repository.CategoryRepository;
 import ru.practicum.repository.EventRepository;
+import ru.practicum.repository.EventShortView;
 import ru.practicum.repository.UserRepository;
+import ru.practicum.search.EventSearchIndex;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -36,9 +50,19 @@ public class EventServiceImpl implements EventService {
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final EventMapper eventMapper;
-    private final StatsClient statsClient;
+    private final EventEnrichmentService enrichmentService;
     private final ViewService viewService;
-    private final CommentService commentService;
+    private final EventSearchIndex eventSearchIndex;
+    private final PublishedEventCatalog catalog;
+    private final EventShortReadModel shortReadModel;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StreamingExporter exporter;
+
+    @Value("${events.search.max-results:1000}")
+    private int searchMaxResults;
+
+    @Value("${events.catalog.enabled:true}")
+    private boolean catalogEnabled;
 
     @Override
     @Transactional
@@ -59,25 +83,75 @@ public class EventServiceImpl implements EventService {
         Event event = eventMapper.toEntity(eventDto, category, initiator);
         Event savedEvent = eventRepository.save(event);
 
-        Long commentsCount = commentService.getEventCommentsCount(savedEvent.getId());
-        return eventMapper.toFullDto(savedEvent, commentsCount);
+        return eventMapper.toFullDto(savedEvent);
+    }
+
+    @Override
+    @Transactional
+    public List<ImportResultDto> importEvents(List<EventImportDto> eventImports) {
+        Map<Long, User> initiators = userRepository.findAllById(eventImports.stream()
+                        .map(EventImportDto::getInitiator)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        Map<Long, Category> categories = categoryRepository.findAllById(eventImports.stream()
+                        .map(eventImport -> eventImport.getEvent().getCategory())
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Category::getId, category -> category));
+        LocalDateTime earliestDate = LocalDateTime.now().plusHours(2);
+
+        List<ImportResultDto> results = new ArrayList<>(eventImports.size());
+        List<ImportResultDto> createdResults = new ArrayList<>();
+        List<Event> events = new ArrayList<>();
+        for (EventImportDto eventImport : eventImports) {
+            NewEventDto eventDto = eventImport.getEvent();
+            User initiator = initiators.get(eventImport.getInitiator());
+            Category category = categories.get(eventDto.getCategory());
+            if (initiator == null) {
+                results.add(ImportResultDto.failed("User not found"));
+                continue;
+            }
+            if (category == null) {
+                results.add(ImportResultDto.failed("Category not found"));
+                continue;
+            }
+
+            Event event;
+            try {
+                event = eventMapper.toEntity(eventDto, category, initiator);
+            } catch (DateTimeParseException e) {
+                results.add(ImportResultDto.failed("Event date must match yyyy-MM-dd HH:mm:ss"));
+                continue;
+            }
+            if (event.getEventDate().isBefore(earliestDate)) {
+                results.add(ImportResultDto.failed("Event date must be at least 2 hours from now"));
+                continue;
+            }
+
+            ImportResultDto result = ImportResultDto.created(null);
+            createdResults.add(result);
+            events.add(event);
+            results.add(result);
+        }
+
+        eventRepository.saveAll(events);
+        for (int i = 0; i < events.size(); i++) {
+            createdResults.get(i).setId(events.get(i).getId());
+        }
+        return results;
     }
 
     @Override
-    public List<EventShortDto> getEventsByInitiator(Long userId, int from, int size) {
-        Pageable pageable = PageRequest.of(from / size, size);
-        List<Event> events = eventRepository.findAllByInitiatorId(userId, pageable);
-
-        Map<Long, Long> commentsCountMap = getEventsCommentsCount(
-                events.stream().map(Event::getId).collect(Collectors.toList())
-        );
-
-        return events.stream()
-                .map(event -> {
-                    Long commentsCount = commentsCountMap.getOrDefault(event.getId(), 0L);
-                    return eventMapper.toShortDto(event, commentsCount);
-                })
+    public CursorPage<EventShortDto> getEventsByInitiator(Long userId, String cursor, int from, int size) {
+        Long afterId = cursor != null ? PageCursor.decode(cursor, EventSort.ID.name()).getId() : 0L;
+        Pageable pageable = PageCursor.pageable(cursor, from, size, Sort.by("id"));
+        List<EventShortView> events = eventRepository.findShortViewsByInitiator(userId, afterId, pageable);
+
+        List<EventShortDto> items = events.stream()
+                .map(eventMapper::toShortDto)
                 .collect(Collectors.toList());
+
+        return new CursorPage<>(items, CursorPage.nextCursor(events, size,
+                event -> PageCursor.of(EventSort.ID.name(), null, event.getId())));
     }
 
     @Override
@@ -85,8 +159,7 @@ public class EventServiceImpl implements EventService {
         Event event = eventRepository.findByIdAndInitiatorId(eventId, userId)
                 .orElseThrow(() -> new NotFoundException("Event not found"));
 
-        Long commentsCount = commentService.getEventCommentsCount(eventId);
-        return eventMapper.toFullDto(event, commentsCount);
+        return eventMapper.toFullDto(event);
     }
 
     @Override
@@ -109,35 +182,48 @@ public class EventServiceImpl implements EventService {
         }
 
         Event updatedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChanged(updatedEvent));
 
-        Long commentsCount = commentService.getEventCommentsCount(eventId);
-        return eventMapper.toFullDto(updatedEvent, commentsCount);
+        return eventMapper.toFullDto(updatedEvent);
     }
 
     @Override
-    public List<EventFullDto> getAdminEvents(List<Long> users, List<Event.EventState> states,
-                                             List<Long> categories, LocalDateTime rangeStart,
-                                             LocalDateTime rangeEnd, int from, int size) {
-
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by("id").ascending());
-
-        List<Event> events = eventRepository.findEventsWithOptionalFilters(users, states, categories, pageable);
-
-        List<Event> filteredEvents = events.stream()
-                .filter(event -> rangeStart == null || !event.getEventDate().isBefore(rangeStart))
-                .filter(event -> rangeEnd == null || !event.getEventDate().isAfter(rangeEnd))
+    public CursorPage<EventFullDto> getAdminEvents(List<Long> users, List<Event.EventState> states,
+                                                   List<Long> categories, LocalDateTime rangeStart,
+                                                   LocalDateTime rangeEnd, String cursor, int from, int size) {
+        validateRange(rangeStart, rangeEnd);
+
+        Long afterId = cursor != null ? PageCursor.decode(cursor, EventSort.ID.name()).getId() : 0L;
+        Pageable pageable = PageCursor.pageable(cursor, from, size, Sort.by("id").ascending());
+
+        List<Event> events = eventRepository.findAdminEvents(users, states, categories,
+                rangeStart, rangeEnd, afterId, pageable);
+        Map<Long, Long> views = enrichmentService.fetchViews(events.stream()
+                .map(Event::getId)
+                .collect(Collectors.toList())).join();
+
+        List<EventFullDto> items = events.stream()
+                .map(eventMapper::toFullDto)
                 .collect(Collectors.toList());
+        items.forEach(dto -> dto.setViews(views.getOrDefault(dto.getId(), dto.getViews())));
 
-        Map<Long, Long> commentsCountMap = getEventsCommentsCount(
-                filteredEvents.stream().map(Event::getId).collect(Collectors.toList())
-        );
+        return new CursorPage<>(items, CursorPage.nextCursor(events, size,
+                event -> PageCursor.of(EventSort.ID.name(), null, event.getId())));
+    }
 
-        return filteredEvents.stream()
-                .map(event -> {
-                    Long commentsCount = commentsCountMap.getOrDefault(event.getId(), 0L);
-                    return eventMapper.toFullDto(event, commentsCount);
-                })
-                .collect(Collectors.toList());
+    @Override
+    public long countAdminEvents(List<Long> users, List<Event.EventState> states, List<Long> categories,
+                                 LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        validateRange(rangeStart, rangeEnd);
+        return eventRepository.countAdminEvents(users, states, categories, rangeStart, rangeEnd);
+    }
+
+    @Override
+    public long exportAdminEvents(List<Long> users, List<Event.EventState> states, List<Long> categories,
+                                  LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                  Consumer<? super EventFullDto> sink) {
+        return exporter.drain(eventRepository.streamAdminEvents(users, states, categories, rangeStart, rangeEnd),
+                eventMapper::toFullDto, sink);
     }
 
     @Override
@@ -176,13 +262,13 @@ public class EventServiceImpl implements EventService {
         }
 
         Event updatedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChanged(updatedEvent));
 
-        Long commentsCount = commentService.getEventCommentsCount(eventId);
-        return eventMapper.toFullDto(updatedEvent, commentsCount);
+        return eventMapper.toFullDto(updatedEvent);
     }
 
     @Override
-    public EventFullDto getPublicEvent(Long eventId, HttpServletRequest request) {
+    public CompletableFuture<EventFullDto> getPublicEvent(Long eventId, HttpServletRequest request) {
         log.info("=== GET PUBLIC EVENT {} ===", eventId);
         log.info("Request URI: {}", request.getRequestURI());
         log.info("Remote IP: {}", request.getRemoteAddr());
@@ -215,208 +301,230 @@ public class EventServiceImpl implements EventService {
                     return new NotFoundException("Event not found");
                 });
 
-        try {
-            statsClient.hit("ewm-main-service", hitUri, request.getRemoteAddr());
-            log.info("Hit sent: {}", hitUri);
-        } catch (Exception e) {
-            log.error("Failed to send hit: {}", e.getMessage());
-        }
-
-        viewService.incrementAndGetViews(event.getId(), request.getRemoteAddr());
-
-        Long realViews = getViewsFromStatsService(event.getId());
-        log.info("Real views from stats-service for event {}: {}", event.getId(), realViews);
-
-        event.setViews(realViews);
+        CompletableFuture<Long> views = recordView(finalEventId, hitUri, request.getRemoteAddr());
+        EventFullDto dto = eventMapper.toFullDto(event);
 
-        Long commentsCount = commentService.getEventCommentsCount(event.getId());
-
-        return eventMapper.toFullDto(event, commentsCount);
+        return views.thenApply(realViews -> {
+            dto.setViews(realViews);
+            return dto;
+        });
     }
 
-    private Long getViewsFromStatsService(Long eventId) {
-        try {
-            LocalDateTime start = LocalDateTime.now().minusYears(1);
-            LocalDateTime end = LocalDateTime.now();
-            String uri = "/events/" + eventId;
-
-            List<ViewStatsDto> stats = statsClient.getStats(
-                    start, end, Collections.singletonList(uri), true
-            );
+    @Override
+    public CompletableFuture<Long> recordPublicView(Long eventId, HttpServletRequest request) {
+        return recordView(eventId, request.getRequestURI(), request.getRemoteAddr());
+    }
 
-            if (!stats.isEmpty()) {
-                Long views = stats.get(0).getHits();
-                log.debug("Stats service returned {} views for event {}", views, eventId);
-                return views;
+    /**
+     * The views lookup is chained after the hit on purpose: views count unique IPs and
+     * the response has to include the caller's own view, which a lookup racing the hit
+     * would only sometimes see. The local bookkeeping overlaps both.
+     */
+    private CompletableFuture<Long> recordView(Long eventId, String hitUri, String ip) {
+        CompletableFuture<Map<Long, Long>> views = enrichmentService.sendHit(hitUri, ip)
+                .thenCompose(hit -> enrichmentService.fetchViews(List.of(eventId)));
+
+        viewService.incrementAndGetViews(eventId, ip);
+
+        return views.thenApply(viewsMap -> {
+            Long realViews = viewsMap.get(eventId);
+            if (realViews == null) {
+                realViews = viewService.getViews(eventId);
             }
-        } catch (Exception e) {
-            log.warn("Could not get views from stats service: {}", e.getMessage());
-        }
-
-        return viewService.getViews(eventId);
+            log.info("Real views from stats-service for event {}: {}", eventId, realViews);
+            return realViews;
+        });
     }
 
     @Override
-    public List<EventShortDto> getPublicEvents(String text, List<Long> categories, Boolean paid,
-                                               LocalDateTime rangeStart, LocalDateTime rangeEnd,
-                                               Boolean onlyAvailable, String sort,
-                                               int from, int size, HttpServletRequest request) {
+    public CompletableFuture<CursorPage<EventShortDto>> getPublicEvents(String text, List<Long> categories,
+                                                                        Boolean paid, LocalDateTime rangeStart,
+                                                                        LocalDateTime rangeEnd, Boolean onlyAvailable,
+                                                                        GeoArea area, String sort, String cursor,
+                                                                        int from, int size,
+                                                                        HttpServletRequest request) {
 
         log.info("=== GET PUBLIC EVENTS ===");
 
-        if (rangeStart != null && rangeEnd != null && rangeEnd.isBefore(rangeStart)) {
-            throw new ValidationException("RangeEnd cannot be before rangeStart");
-        }
+        validateRange(rangeStart, rangeEnd);
 
-        try {
-            statsClient.hit(
-                    "ewm-main-service",
-                    request.getRequestURI(),
-                    request.getRemoteAddr()
-            );
-        } catch (Exception e) {
-            log.warn("Failed to send stats hit: {}", e.getMessage());
-        }
+        enrichmentService.sendHit(request.getRequestURI(), request.getRemoteAddr());
 
         final LocalDateTime finalRangeStart = (rangeStart != null) ? rangeStart : LocalDateTime.now();
         final LocalDateTime finalRangeEnd = (rangeEnd != null) ? rangeEnd : LocalDateTime.now().plusYears(1);
-        final Boolean finalOnlyAvailable = (onlyAvailable != null) ? onlyAvailable : false;
-        final String finalText = (text != null) ? text.trim() : "";
-        final List<Long> finalCategories = (categories != null) ? categories : Collections.emptyList();
-        final Boolean finalPaid = paid;
-
-        Pageable pageable = buildPageable(sort, from, size);
-
-        List<Event> filteredEvents = getFilteredEvents(finalText, finalCategories, finalPaid, pageable);
-        log.info("Found {} events after initial filtering", filteredEvents.size());
-
-        List<Event> eventsAfterDateFilter = filteredEvents.stream()
-                .filter(event -> !event.getEventDate().isBefore(finalRangeStart))
-                .filter(event -> !event.getEventDate().isAfter(finalRangeEnd))
-                .collect(Collectors.toList());
-        log.info("{} events after date filter", eventsAfterDateFilter.size());
-
-        List<Event> eventsAfterAvailabilityFilter = eventsAfterDateFilter.stream()
-                .filter(event -> !finalOnlyAvailable ||
-                        event.getParticipantLimit() == 0 ||
-                        event.getConfirmedRequests() < event.getParticipantLimit())
-                .collect(Collectors.toList());
-        log.info("{} events after availability filter", eventsAfterAvailabilityFilter.size());
-
-        List<Event> eventsAfterCategoryFilter = eventsAfterAvailabilityFilter;
-        if (!finalCategories.isEmpty() && finalText.isEmpty()) {
-            eventsAfterCategoryFilter = eventsAfterAvailabilityFilter.stream()
-                    .filter(event -> finalCategories.contains(event.getCategory().getId()))
-                    .collect(Collectors.toList());
-            log.info("{} events after category filter", eventsAfterCategoryFilter.size());
-        }
-
-        List<Event> finalEventsList = eventsAfterCategoryFilter;
-        if (finalPaid != null && finalText.isEmpty() && finalCategories.isEmpty()) {
-            finalEventsList = eventsAfterCategoryFilter.stream()
-                    .filter(event -> event.getPaid().equals(finalPaid))
-                    .collect(Collectors.toList());
-            log.info("{} events after paid filter", finalEventsList.size());
-        }
-
-        Map<Long, Long> viewsMap = getEventsViewsFromStatsService(
-                finalEventsList.stream().map(Event::getId).collect(Collectors.toList())
-        );
-
-        Map<Long, Long> commentsCountMap = getEventsCommentsCount(
-                finalEventsList.stream().map(Event::getId).collect(Collectors.toList())
-        );
-
-        return finalEventsList.stream()
-                .map(event -> {
-                    Long realViews = viewsMap.getOrDefault(event.getId(), 0L);
-                    Long commentsCount = commentsCountMap.getOrDefault(event.getId(), 0L);
-                    event.setViews(realViews);
-                    return eventMapper.toShortDto(event, commentsCount);
-                })
-                .collect(Collectors.toList());
-    }
-
-    private Map<Long, Long> getEventsViewsFromStatsService(List<Long> eventIds) {
-        if (eventIds.isEmpty()) {
-            return Collections.emptyMap();
+        final boolean finalOnlyAvailable = Boolean.TRUE.equals(onlyAvailable);
+        final String finalText = (text != null && !text.isBlank()) ? text.trim() : null;
+        final List<Long> finalCategories = (categories != null && !categories.isEmpty()) ? categories : null;
+
+        final EventSort eventSort = EventSort.resolve(sort, finalText != null);
+        if (eventSort == EventSort.DISTANCE && area == null) {
+            throw new ValidationException("Sorting by distance requires lat, lon and radius or a bounding box");
+        }
+
+        // Only a relevance ranking is capped; any other order must see every match
+        List<Long> matchedIds = null;
+        Map<Long, Double> rankKeys = null;
+        String textQuery = null;
+        if (finalText != null) {
+            if (eventSort == EventSort.RELEVANCE) {
+                rankKeys = eventSearchIndex.search(finalText, searchMaxResults);
+                matchedIds = new ArrayList<>(rankKeys.keySet());
+            } else if (!catalogEnabled) {
+                textQuery = eventSearchIndex.sqlQuery(finalText);
+            }
+            if (matchedIds == null && textQuery == null) {
+                matchedIds = new ArrayList<>(eventSearchIndex.matchAll(finalText));
+            }
+            if (matchedIds != null && matchedIds.isEmpty()) {
+                return CompletableFuture.completedFuture(new CursorPage<>(Collections.emptyList(), null));
+            }
         }
-
-        Map<Long, Long> viewsMap = new HashMap<>();
-
-        try {
-            LocalDateTime start = LocalDateTime.now().minusYears(1);
-            LocalDateTime end = LocalDateTime.now();
-
-            List<String> uris = eventIds.stream()
-                    .map(id -> "/events/" + id)
-                    .collect(Collectors.toList());
-
-            List<ViewStatsDto> stats = statsClient.getStats(
-                    start, end, uris, true
-            );
-
-            for (ViewStatsDto stat : stats) {
-                try {
-                    String uri = stat.getUri();
-                    if (uri.startsWith("/events/")) {
-                        Long eventId = Long.parseLong(uri.substring("/events/".length()));
-                        viewsMap.put(eventId, stat.getHits());
-                    }
-                } catch (Exception e) {
-                    log.warn("Failed to parse event id from uri: {}", stat.getUri());
+        final PageCursor after = cursor != null ? PageCursor.decode(cursor, eventSort.name()) : null;
+
+        CursorPage<Long> page;
+        if (catalogEnabled) {
+            CatalogQuery query = CatalogQuery.builder()
+                    .ids(matchedIds)
+                    .scores(rankKeys)
+                    .categories(finalCategories)
+                    .paid(paid)
+                    .rangeStart(finalRangeStart)
+                    .rangeEnd(finalRangeEnd)
+                    .onlyAvailable(finalOnlyAvailable)
+                    .area(area)
+                    .build();
+            page = catalog.find(query, eventSort, after, from, size);
+        } else {
+            if (area != null) {
+                Map<Long, Double> distances = findPublishedDistancesInArea(area, matchedIds);
+                if (eventSort == EventSort.DISTANCE) {
+                    rankKeys = distances;
+                }
+                matchedIds = new ArrayList<>(distances.keySet());
+                if (matchedIds.isEmpty()) {
+                    return CompletableFuture.completedFuture(new CursorPage<>(Collections.emptyList(), null));
                 }
             }
+            final Map<Long, Double> finalRankKeys = rankKeys;
+            List<EventShortView> events = findPublicEventsInDatabase(matchedIds, finalRankKeys, textQuery,
+                    finalCategories, paid, finalRangeStart, finalRangeEnd, finalOnlyAvailable, eventSort, after,
+                    cursor, from, size);
+            page = new CursorPage<>(events.stream().map(EventShortView::getId).collect(Collectors.toList()),
+                    CursorPage.nextCursor(events, size, event -> PageCursor.of(eventSort.name(),
+                            cursorKey(event, eventSort, finalRankKeys), event.getId())));
+        }
+        log.info("Found {} events", page.getItems().size());
+
+        CompletableFuture<Map<Long, Long>> views = enrichmentService.fetchViews(page.getItems());
+        List<EventShortDto> items = shortReadModel.get(page.getItems());
+        String nextCursor = page.getNextCursor();
+
+        return views.thenApply(viewsMap -> {
+            items.forEach(dto -> dto.setViews(viewsMap.getOrDefault(dto.getId(), 0L)));
+            return new CursorPage<>(items, nextCursor);
+        });
+    }
 
-        } catch (Exception e) {
-            log.warn("Failed to get views from stats service: {}", e.getMessage());
-            for (Long eventId : eventIds) {
-                viewsMap.put(eventId, viewService.getViews(eventId));
-            }
+    private Object cursorKey(EventShortView event, EventSort eventSort, Map<Long, Double> rankKeys) {
+        switch (eventSort) {
+            case EVENT_DATE:
+                return event.getEventDate();
+            case VIEWS:
+                return event.getViews();
+            case RELEVANCE:
+            case DISTANCE:
+                return rankKeys.get(event.getId());
+            default:
+                return null;
         }
-
-        return viewsMap;
     }
 
-    private Map<Long, Long> getEventsCommentsCount(List<Long> eventIds) {
-        Map<Long, Long> commentsCountMap = new HashMap<>();
-
-        if (eventIds.isEmpty()) {
-            return commentsCountMap;
+    private List<EventShortView> findPublicEventsInDatabase(List<Long> matchedIds, Map<Long, Double> rankKeys,
+                                                            String textQuery, List<Long> categories,
+                                                            Boolean paid, LocalDateTime rangeStart,
+                                                            LocalDateTime rangeEnd, boolean onlyAvailable,
+                                                            EventSort eventSort, PageCursor after,
+                                                            String cursor, int from, int size) {
+        final Long afterId = after != null ? after.getId() : 0L;
+
+        switch (eventSort) {
+            case RELEVANCE:
+            case DISTANCE:
+                return findPublicEventsInRankOrder(matchedIds, rankKeys, eventSort, textQuery, categories, paid,
+                        rangeStart, rangeEnd, onlyAvailable, after, from, size);
+            case EVENT_DATE:
+                return eventRepository.findPublicEventsByEventDate(matchedIds, categories, paid,
+                        rangeStart, rangeEnd, onlyAvailable, textQuery,
+                        after != null ? after.keyAsDateTime() : rangeStart, afterId,
+                        PageCursor.pageable(cursor, from, size, Sort.by("eventDate").ascending().and(Sort.by("id"))));
+            case VIEWS:
+                return eventRepository.findPublicEventsByViews(matchedIds, categories, paid,
+                        rangeStart, rangeEnd, onlyAvailable, textQuery,
+                        after != null ? after.keyAsLong() : Long.MAX_VALUE, afterId,
+                        PageCursor.pageable(cursor, from, size, Sort.by("views").descending().and(Sort.by("id"))));
+            default:
+                return eventRepository.findPublicEvents(matchedIds, categories, paid,
+                        rangeStart, rangeEnd, onlyAvailable, textQuery, afterId,
+                        PageCursor.pageable(cursor, from, size, Sort.by("id")));
         }
+    }
 
-        for (Long eventId : eventIds) {
-            commentsCountMap.put(eventId, 0L);
-        }
+    private List<EventShortView> findPublicEventsInRankOrder(List<Long> matchedIds, Map<Long, Double> rankKeys,
+                                                             EventSort eventSort, String textQuery,
+                                                             List<Long> categories,
+                                                             Boolean paid, LocalDateTime rangeStart,
+                                                             LocalDateTime rangeEnd, boolean onlyAvailable,
+                                                             PageCursor after, int from, int size) {
+        Set<Long> visibleIds = new HashSet<>(eventRepository.findPublicEventIds(matchedIds, categories,
+                paid, rangeStart, rangeEnd, onlyAvailable, textQuery));
+        List<Long> ranked = visibleIds.stream()
+                .sorted((a, b) -> eventSort.compareRank(rankKeys.get(a), a, rankKeys.get(b), b))
+                .collect(Collectors.toList());
 
-        for (Long eventId : eventIds) {
-            Long count = commentService.getEventCommentsCount(eventId);
-            commentsCountMap.put(eventId, count);
+        int start = from;
+        if (after != null) {
+            double afterKey = after.keyAsDouble();
+            start = 0;
+            while (start < ranked.size() && eventSort.compareRank(rankKeys.get(ranked.get(start)),
+                    ranked.get(start), afterKey, after.getId()) <= 0) {
+                start++;
+            }
         }
-
-        return commentsCountMap;
+        if (start >= ranked.size()) {
+            return Collections.emptyList();
+        }
+        return findAllInOrder(ranked.subList(start, Math.min(start + size, ranked.size())));
     }
 
-    private List<Event> getFilteredEvents(String text, List<Long> categories, Boolean paid, Pageable pageable) {
-        if (!text.isEmpty()) {
-            return eventRepository.findPublishedEventsByText(text, pageable);
-        } else if (!categories.isEmpty()) {
-            return eventRepository.findPublishedEventsByCategories(categories, pageable);
-        } else if (paid != null) {
-            return eventRepository.findPublishedEventsByPaid(paid, pageable);
-        } else {
-            return eventRepository.findPublishedEvents(pageable);
+    private Map<Long, Double> findPublishedDistancesInArea(GeoArea area, List<Long> matchedIds) {
+        Set<Long> matched = matchedIds != null ? new HashSet<>(matchedIds) : null;
+        Map<Long, Double> distances = new HashMap<>();
+        for (double[] lonRange : area.lonRanges()) {
+            for (Object[] row : eventRepository.findPublishedLocationsInBox(
+                    Math.nextDown((float) area.getMinLat()), Math.nextUp((float) area.getMaxLat()),
+                    Math.nextDown((float) lonRange[0]), Math.nextUp((float) lonRange[1]))) {
+                Long eventId = (Long) row[0];
+                float lat = (Float) row[1];
+                float lon = (Float) row[2];
+                if ((matched == null || matched.contains(eventId)) && area.contains(lat, lon)) {
+                    distances.put(eventId, area.distanceKm(lat, lon));
+                }
+            }
         }
+        return distances;
     }
 
-    private Pageable buildPageable(String sort, int from, int size) {
-        if ("EVENT_DATE".equalsIgnoreCase(sort)) {
-            return PageRequest.of(from / size, size, Sort.by("eventDate").ascending());
-        } else if ("VIEWS".equalsIgnoreCase(sort)) {
-            return PageRequest.of(from / size, size);
-        } else {
-            return PageRequest.of(from / size, size);
+    private List<EventShortView> findAllInOrder(List<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Collections.emptyList();
         }
+
+        Map<Long, EventShortView> eventsById = eventRepository.findShortViewsByIdIn(eventIds).stream()
+                .collect(Collectors.toMap(EventShortView::getId, event -> event));
+        return eventIds.stream()
+                .map(eventsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     private void updateEventFields(Event event, UpdateEventUserRequest updateRequest) {
@@ -500,4 +608,10 @@ public class EventServiceImpl implements EventService {
             event.setTitle(updateRequest.getTitle());
         }
     }
+
+    private void validateRange(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        if (rangeStart != null && rangeEnd != null && rangeEnd.isBefore(rangeStart)) {
+            throw new ValidationException("RangeEnd cannot be before rangeStart");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,156 @@
+package ru.practicum.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.catalog.PublishedEventCatalog;
+import ru.practicum.domain.EventChanged;
+import ru.practicum.dto.EventTileDto;
+import ru.practicum.dto.TileCellDto;
+import ru.practicum.entity.Event;
+import ru.practicum.geo.TileMath;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventTileService {
+    private final PublishedEventCatalog catalog;
+
+    private final Map<String, EventTileDto> tiles = new ConcurrentHashMap<>();
+    private final Map<Long, double[]> locations = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${events.tiles.grid-size:8}")
+    private int gridSize;
+
+    @Value("${events.tiles.cache-size:10000}")
+    private int cacheSize;
+
+    public EventTileDto getTile(int z, int x, int y) {
+        TileMath.validate(z, x, y);
+        String key = key(z, x, y);
+        EventTileDto cached = tiles.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startGeneration = generation.get();
+        EventTileDto tile = buildTile(z, x, y);
+        if (tiles.size() >= cacheSize) {
+            tiles.clear();
+        }
+        // an edit bumps the generation before it evicts, and compute runs exclusively with that
+        // eviction, so a tile built before the edit is either evicted afterwards or never stored
+        tiles.compute(key, (k, current) -> generation.get() == startGeneration ? tile : current);
+        return tile;
+    }
+
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChanged changed) {
+        Event event = changed.getEvent();
+        double[] current = event.getState() == Event.EventState.PUBLISHED && event.getLocation() != null
+                && event.getLocation().getLat() != null && event.getLocation().getLon() != null
+                ? new double[]{event.getLocation().getLat(), event.getLocation().getLon()} : null;
+        double[] previous = current != null ? locations.put(event.getId(), current) : locations.remove(event.getId());
+
+        if (Arrays.equals(previous, current)) {
+            return;
+        }
+        generation.incrementAndGet();
+        if (previous != null) {
+            evict(previous[0], previous[1]);
+        }
+        if (current != null) {
+            evict(current[0], current[1]);
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        tiles.clear();
+        locations.clear();
+    }
+
+    private EventTileDto buildTile(int z, int x, int y) {
+        Map<Integer, List<LocatedEvent>> members = new HashMap<>();
+        catalog.forEachLocated(TileMath.bounds(z, x, y), (eventId, lat, lon) -> {
+            locations.putIfAbsent(eventId, new double[]{lat, lon});
+            int cellX = cell(TileMath.tileX(z, lon) - x);
+            int cellY = cell(TileMath.tileY(z, lat) - y);
+            members.computeIfAbsent(cellY * gridSize + cellX, k -> new ArrayList<>())
+                    .add(new LocatedEvent(eventId, lat, lon));
+        });
+
+        List<TileCellDto> cells = new ArrayList<>(members.size());
+        members.forEach((cellKey, points) -> {
+            double lat = points.stream().mapToDouble(LocatedEvent::getLat).average().orElse(0);
+            double lon = points.stream().mapToDouble(LocatedEvent::getLon).average().orElse(0);
+            LocatedEvent representative = points.stream()
+                    .min(Comparator.comparingDouble(point -> Math.pow(point.getLat() - lat, 2)
+                            + Math.pow(point.getLon() - lon, 2)))
+                    .orElseThrow();
+            cells.add(TileCellDto.builder()
+                    .cellX(cellKey % gridSize)
+                    .cellY(cellKey / gridSize)
+                    .count((long) points.size())
+                    .lat(lat)
+                    .lon(lon)
+                    .eventId(representative.getEventId())
+                    .build());
+        });
+        cells.sort(Comparator.comparing(TileCellDto::getCellY).thenComparing(TileCellDto::getCellX));
+
+        return EventTileDto.builder()
+                .z(z)
+                .x(x)
+                .y(y)
+                .gridSize(gridSize)
+                .cells(cells)
+                .build();
+    }
+
+    private int cell(double offset) {
+        return Math.max(0, Math.min(gridSize - 1, (int) Math.floor(offset * gridSize)));
+    }
+
+    /**
+     * Evicts every tile the point is rendered into: tile bounds are inclusive, so a point
+     * on an edge or corner belongs to up to four neighbouring tiles.
+     */
+    private void evict(double lat, double lon) {
+        for (int z = 0; z <= TileMath.MAX_ZOOM; z++) {
+            int last = (1 << z) - 1;
+            int tileX = (int) Math.floor(TileMath.tileX(z, lon));
+            int tileY = (int) Math.floor(TileMath.tileY(z, lat));
+            for (int x = Math.max(0, tileX - 1); x <= Math.min(last, tileX + 1); x++) {
+                for (int y = Math.max(0, tileY - 1); y <= Math.min(last, tileY + 1); y++) {
+                    if (TileMath.bounds(z, x, y).contains(lat, lon)) {
+                        tiles.remove(key(z, x, y));
+                    }
+                }
+            }
+        }
+    }
+
+    private static String key(int z, int x, int y) {
+        return z + "/" + x + "/" + y;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class LocatedEvent {
+        private final long eventId;
+        private final double lat;
+        private final double lon;
+    }
+}
\ No newline at end of file
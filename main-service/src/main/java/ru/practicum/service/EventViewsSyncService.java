@@ -0,0 +1,88 @@
+package ru.practicum.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.practicum.catalog.PublishedEventCatalog;
+import ru.practicum.client.StatsClient;
+import ru.practicum.dto.ViewStatsDto;
+import ru.practicum.repository.EventRepository;
+import ru.practicum.versioning.ResourceVersions;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "public-read.enabled", havingValue = "false", matchIfMissing = true)
+public class EventViewsSyncService {
+    private static final String EVENT_URI_PREFIX = "/events/";
+
+    private final EventRepository eventRepository;
+    private final EventViewsWriter viewsWriter;
+    private final StatsClient statsClient;
+    private final PublishedEventCatalog catalog;
+    private final ResourceVersions versions;
+
+    @Value("${events.views.sync.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * Reads the hits for every published event from the stats service first and only
+     * then writes the counts in one short transaction, so no connection is held while
+     * the stats calls are in flight.
+     */
+    @Scheduled(fixedDelayString = "${events.views.sync.interval-ms:60000}",
+            initialDelayString = "${events.views.sync.initial-delay-ms:30000}")
+    public void syncViews() {
+        List<Long> eventIds = eventRepository.findPublishedEventIds();
+        if (eventIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> views = new HashMap<>();
+        for (int i = 0; i < eventIds.size(); i += batchSize) {
+            List<Long> batch = eventIds.subList(i, Math.min(i + batchSize, eventIds.size()));
+            Map<Long, Long> batchViews;
+            try {
+                batchViews = fetchViews(batch);
+            } catch (Exception e) {
+                log.warn("Views sync aborted, stats service unavailable: {}", e.getMessage());
+                return;
+            }
+            batch.forEach(eventId -> views.put(eventId, batchViews.getOrDefault(eventId, 0L)));
+        }
+
+        List<Long> changed = viewsWriter.apply(views);
+        catalog.updateViews(views);
+        versions.bumpEvents(changed);
+
+        log.debug("Views synced, {} published events changed", changed.size());
+    }
+
+    private Map<Long, Long> fetchViews(List<Long> eventIds) {
+        List<String> uris = eventIds.stream()
+                .map(id -> EVENT_URI_PREFIX + id)
+                .collect(Collectors.toList());
+
+        List<ViewStatsDto> stats = statsClient.getStats(
+                LocalDateTime.now().minusYears(1), LocalDateTime.now(), uris, true);
+
+        Map<Long, Long> views = new HashMap<>();
+        for (ViewStatsDto stat : stats) {
+            try {
+                views.put(Long.parseLong(stat.getUri().substring(EVENT_URI_PREFIX.length())), stat.getHits());
+            } catch (Exception e) {
+                log.warn("Failed to parse event id from uri: {}", stat.getUri());
+            }
+        }
+        return views;
+    }
+}
\ No newline at end of file
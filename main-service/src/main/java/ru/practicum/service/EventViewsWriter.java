@@ -0,0 +1,41 @@
+package ru.practicum.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class EventViewsWriter {
+    private static final String UPDATE_VIEWS = "UPDATE events SET views = ? " +
+            "WHERE id = ? AND views <> ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Writes the view counts in one JDBC batch and returns the ids whose stored count changed.
+     */
+    @Transactional
+    public List<Long> apply(Map<Long, Long> views) {
+        List<Long> eventIds = new ArrayList<>(views.keySet());
+        List<Object[]> rows = new ArrayList<>(eventIds.size());
+        for (Long eventId : eventIds) {
+            Long count = views.get(eventId);
+            rows.add(new Object[]{count, eventId, count});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_VIEWS, rows);
+        List<Long> changed = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] != 0) {
+                changed.add(eventIds.get(i));
+            }
+        }
+        return changed;
+    }
+}
\ No newline at end of file
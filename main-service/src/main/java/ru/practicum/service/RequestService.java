@@ -6,6 +6,7 @@ import ru.practicum.dto.EventRequestStatusUpdateResult;
 import ru.practicum.dto.ParticipationRequestDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface RequestService {
     ParticipationRequestDto createParticipationRequest(Long userId, Long eventId);
@@ -16,6 +17,8 @@ public interface RequestService {
 
     List<ParticipationRequestDto> getEventParticipants(Long userId, Long eventId);
 
+    long exportEventParticipants(Long userId, Long eventId, Consumer<? super ParticipationRequestDto> sink);
+
     EventRequestStatusUpdateResult updateRequestStatus(Long userId, Long eventId,
                                                        EventRequestStatusUpdateRequest updateRequest);
 }
\ No newline at end of file
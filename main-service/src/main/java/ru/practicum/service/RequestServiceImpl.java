@@ -1,14 +1,16 @@
 package ru.practicum.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.bulk.StreamingExporter;
+import ru.practicum.domain.EventChanged;
 import ru.practicum.dto.EventRequestStatusUpdateRequest;
 import ru.practicum.dto.EventRequestStatusUpdateResult;
 import ru.practicum.dto.ParticipationRequestDto;
 import ru.practicum.entity.Event;
 import ru.practicum.entity.ParticipationRequest;
-import ru.practicum.entity.User;
 import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.mapper.RequestMapper;
@@ -16,58 +18,74 @@ import ru.practicum.repository.EventRepository;
 import ru.practicum.repository.RequestRepository;
 import ru.practicum.repository.UserRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class RequestServiceImpl implements RequestService {
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
     private final RequestRepository requestRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final RequestMapper requestMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StreamingExporter exporter;
 
     @Override
     @Transactional
     public ParticipationRequestDto createParticipationRequest(Long userId, Long eventId) {
-        User requester = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found");
+        }
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new NotFoundException("Event not found"));
+        List<Object[]> rows = eventRepository.findRequestCheckRow(eventId, userId);
+        if (rows.isEmpty()) {
+            throw new NotFoundException("Event not found");
+        }
+        Object[] row = rows.get(0);
+        int participantLimit = (Integer) row[2];
 
-        if (event.getInitiator().getId().equals(userId)) {
+        if (userId.equals(row[0])) {
             throw new ConflictException("Initiator cannot request participation in own event");
         }
 
-        if (event.getState() != Event.EventState.PUBLISHED) {
+        if (row[1] != Event.EventState.PUBLISHED) {
             throw new ConflictException("Cannot participate in unpublished event");
         }
 
-        if (event.getParticipantLimit() > 0) {
-            long confirmedRequests = requestRepository.countByEventIdAndStatus(
-                    eventId, ParticipationRequest.Status.CONFIRMED
-            );
-            if (confirmedRequests >= event.getParticipantLimit()) {
-                throw new ConflictException("Participant limit reached");
-            }
+        if (participantLimit > 0 && (Integer) row[4] >= participantLimit) {
+            throw new ConflictException("Participant limit reached");
         }
 
-        if (requestRepository.existsByRequesterIdAndEventId(userId, eventId)) {
+        if ((Long) row[5] > 0) {
             throw new ConflictException("Request already exists");
         }
 
-        ParticipationRequest request = requestMapper.toEntity(event, (ru.practicum.entity.User) requester);
+        ParticipationRequest request = requestMapper.toEntity(eventRepository.getReferenceById(eventId),
+                userRepository.getReferenceById(userId));
 
-        if (!event.getRequestModeration() || event.getParticipantLimit() == 0) {
-            request.setStatus(ParticipationRequest.Status.CONFIRMED);
-            event.setConfirmedRequests(event.getConfirmedRequests() + 1);
-            eventRepository.save(event);
+        boolean autoConfirm = !(Boolean) row[3] || participantLimit == 0;
+        if (!autoConfirm) {
+            return requestMapper.toDto(requestRepository.save(request));
         }
 
-        ParticipationRequest savedRequest = requestRepository.save(request);
+        if (eventRepository.reserveSeats(eventId, 1) == 0) {
+            throw new ConflictException("Participant limit reached");
+        }
+        request.setStatus(ParticipationRequest.Status.CONFIRMED);
+        // flushed straight behind the reservation: one statement for both would need a
+        // data-modifying CTE, which H2 lacks
+        ParticipationRequest savedRequest = requestRepository.saveAndFlush(request);
+
+        publishConfirmedRequests(eventRepository.findById(eventId)
+                .orElseThrow(() -> new NotFoundException("Event not found")));
         return requestMapper.toDto(savedRequest);
     }
 
@@ -88,14 +106,14 @@ public class RequestServiceImpl implements RequestService {
                 .findByIdAndRequesterId(requestId, userId)
                 .orElseThrow(() -> new NotFoundException("Request not found"));
 
-        if (request.getStatus() == ParticipationRequest.Status.CONFIRMED) {
-            Event event = request.getEvent();
-            event.setConfirmedRequests(event.getConfirmedRequests() - 1);
-            eventRepository.save(event);
-        }
-
+        boolean wasConfirmed = request.getStatus() == ParticipationRequest.Status.CONFIRMED;
         request.setStatus(ParticipationRequest.Status.CANCELED);
         ParticipationRequest canceledRequest = requestRepository.save(request);
+
+        if (wasConfirmed) {
+            eventRepository.releaseSeats(request.getEvent().getId(), 1);
+            publishConfirmedRequests(request.getEvent());
+        }
         return requestMapper.toDto(canceledRequest);
     }
 
@@ -109,6 +127,17 @@ public class RequestServiceImpl implements RequestService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public long exportEventParticipants(Long userId, Long eventId, Consumer<? super ParticipationRequestDto> sink) {
+        eventRepository.findByIdAndInitiatorId(eventId, userId)
+                .orElseThrow(() -> new NotFoundException("Event not found or not owned by user"));
+
+        return exporter.drain(requestRepository.streamRowsByEventId(eventId),
+                row -> requestMapper.toDto((Long) row[0], eventId, (Long) row[1], (LocalDateTime) row[2],
+                        (ParticipationRequest.Status) row[3]),
+                sink);
+    }
+
     @Override
     @Transactional
     public EventRequestStatusUpdateResult updateRequestStatus(Long userId, Long eventId,
@@ -116,59 +145,85 @@ public class RequestServiceImpl implements RequestService {
         Event event = eventRepository.findByIdAndInitiatorId(eventId, userId)
                 .orElseThrow(() -> new NotFoundException("Event not found or not owned by user"));
 
-        List<ParticipationRequest> requests = requestRepository.findByIdIn(updateRequest.getRequestIds());
-
-        requests.forEach(request -> {
-            if (request.getStatus() != ParticipationRequest.Status.PENDING) {
-                throw new ConflictException("Request must have status PENDING");
-            }
-        });
+        List<Long> requestIds = updateRequest.getRequestIds().stream()
+                .distinct()
+                .collect(Collectors.toList());
 
-        AtomicLong confirmedCount = new AtomicLong(requestRepository.countByEventIdAndStatus(
-                eventId, ParticipationRequest.Status.CONFIRMED
-        ));
+        List<Object[]> pending = new ArrayList<>(requestIds.size());
+        for (List<Long> chunk : chunks(requestIds)) {
+            pending.addAll(requestRepository.findPendingRowsByEventIdAndIdIn(eventId, chunk));
+        }
+        if (pending.size() != requestIds.size()) {
+            throw new ConflictException("Request must have status PENDING");
+        }
+        pending.sort(Comparator.comparing(row -> (Long) row[0]));
 
+        int seats = 0;
         if (updateRequest.getStatus() == EventRequestStatusUpdateRequest.Status.CONFIRMED) {
-            if (event.getParticipantLimit() > 0 &&
-                    confirmedCount.get() + requests.size() > event.getParticipantLimit()) {
+            seats = reserveSeatsUpTo(event, pending.size());
+            if (seats == 0) {
                 throw new ConflictException("Participant limit reached");
             }
         }
 
-        List<ParticipationRequestDto> confirmed = requests.stream()
-                .filter(request -> {
-                    if (updateRequest.getStatus() == EventRequestStatusUpdateRequest.Status.CONFIRMED) {
-                        if (event.getParticipantLimit() == 0 ||
-                                confirmedCount.get() < event.getParticipantLimit()) {
-                            request.setStatus(ParticipationRequest.Status.CONFIRMED);
-                            confirmedCount.getAndIncrement();
-                            event.setConfirmedRequests(event.getConfirmedRequests() + 1);
-                            return true;
-                        } else {
-                            request.setStatus(ParticipationRequest.Status.REJECTED);
-                            return false;
-                        }
-                    } else {
-                        request.setStatus(ParticipationRequest.Status.REJECTED);
-                        return false;
-                    }
-                })
-                .map(request -> {
-                    requestRepository.save(request);
-                    return requestMapper.toDto(request);
-                })
-                .collect(Collectors.toList());
-
-        List<ParticipationRequestDto> rejected = requests.stream()
-                .filter(request -> request.getStatus() == ParticipationRequest.Status.REJECTED)
-                .map(requestMapper::toDto)
-                .collect(Collectors.toList());
+        List<ParticipationRequestDto> confirmed = applyStatus(eventId, pending.subList(0, seats),
+                ParticipationRequest.Status.CONFIRMED);
+        List<ParticipationRequestDto> rejected = applyStatus(eventId, pending.subList(seats, pending.size()),
+                ParticipationRequest.Status.REJECTED);
 
-        eventRepository.save(event);
+        if (!confirmed.isEmpty()) {
+            publishConfirmedRequests(event);
+        }
 
         return EventRequestStatusUpdateResult.builder()
                 .confirmedRequests(confirmed)
                 .rejectedRequests(rejected)
                 .build();
     }
+
+    private int reserveSeatsUpTo(Event event, int wanted) {
+        if (event.getParticipantLimit() == 0) {
+            eventRepository.reserveSeats(event.getId(), wanted);
+            return wanted;
+        }
+        while (true) {
+            int free = event.getParticipantLimit() - eventRepository.findConfirmedRequests(event.getId());
+            int seats = Math.min(wanted, free);
+            if (seats <= 0) {
+                return 0;
+            }
+            if (eventRepository.reserveSeats(event.getId(), seats) > 0) {
+                return seats;
+            }
+        }
+    }
+
+    private List<ParticipationRequestDto> applyStatus(Long eventId, List<Object[]> rows,
+                                                      ParticipationRequest.Status status) {
+        List<Long> ids = rows.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+        int updated = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            updated += requestRepository.updatePendingStatus(chunk, status);
+        }
+        if (updated != ids.size()) {
+            throw new ConflictException("Request must have status PENDING");
+        }
+
+        return rows.stream()
+                .map(row -> requestMapper.toDto((Long) row[0], eventId, (Long) row[1], (LocalDateTime) row[2], status))
+                .collect(Collectors.toList());
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += IN_CLAUSE_CHUNK) {
+            chunks.add(ids.subList(i, Math.min(i + IN_CLAUSE_CHUNK, ids.size())));
+        }
+        return chunks;
+    }
+
+    private void publishConfirmedRequests(Event event) {
+        event.setConfirmedRequests(eventRepository.findConfirmedRequests(event.getId()));
+        eventPublisher.publishEvent(new EventChanged(event));
+    }
 }
\ No newline at end of file
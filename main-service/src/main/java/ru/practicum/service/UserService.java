@@ -1,5 +1,6 @@
 package ru.practicum.service;
 
+import ru.practicum.dto.ImportResultDto;
 import ru.practicum.dto.NewUserRequest;
 import ru.practicum.dto.UserDto;
 
@@ -8,6 +9,8 @@ import java.util.List;
 public interface UserService {
     UserDto createUser(NewUserRequest userRequest);
 
+    List<ImportResultDto> importUsers(List<NewUserRequest> userRequests);
+
     List<UserDto> getUsers(List<Long> ids, int from, int size);
 
     void deleteUser(Long userId);
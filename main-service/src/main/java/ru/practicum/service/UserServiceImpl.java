@@ -1,10 +1,13 @@
 package ru.practicum.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.domain.UserDeleted;
+import ru.practicum.dto.ImportResultDto;
 import ru.practicum.dto.NewUserRequest;
 import ru.practicum.dto.UserDto;
 import ru.practicum.entity.User;
@@ -13,7 +16,7 @@ import ru.practicum.exception.NotFoundException;
 import ru.practicum.mapper.UserMapper;
 import ru.practicum.repository.UserRepository;
 
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,11 +25,12 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public UserDto createUser(NewUserRequest userRequest) {
-        if (userRepository.existsByEmail(userRequest.getEmail())) {
+        if (!takenEmails(List.of(userRequest)).isEmpty()) {
             throw new ConflictException("Email already exists");
         }
 
@@ -35,6 +39,32 @@ public class UserServiceImpl implements UserService {
         return userMapper.toDto(savedUser);
     }
 
+    @Override
+    @Transactional
+    public List<ImportResultDto> importUsers(List<NewUserRequest> userRequests) {
+        Set<String> taken = takenEmails(userRequests);
+        List<ImportResultDto> results = new ArrayList<>(userRequests.size());
+        List<ImportResultDto> createdResults = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+
+        for (NewUserRequest userRequest : userRequests) {
+            if (!taken.add(userRequest.getEmail())) {
+                results.add(ImportResultDto.failed("Email already exists"));
+                continue;
+            }
+            ImportResultDto result = ImportResultDto.created(null);
+            createdResults.add(result);
+            users.add(userMapper.toEntity(userRequest));
+            results.add(result);
+        }
+
+        userRepository.saveAll(users);
+        for (int i = 0; i < users.size(); i++) {
+            createdResults.get(i).setId(users.get(i).getId());
+        }
+        return results;
+    }
+
     @Override
     public List<UserDto> getUsers(List<Long> ids, int from, int size) {
         Pageable pageable = PageRequest.of(from / size, size);
@@ -58,5 +88,12 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new NotFoundException("User with id=" + userId + " was not found"));
 
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserDeleted(userId));
+    }
+
+    private Set<String> takenEmails(List<NewUserRequest> userRequests) {
+        return new HashSet<>(userRepository.findExistingEmails(userRequests.stream()
+                .map(NewUserRequest::getEmail)
+                .collect(Collectors.toSet())));
     }
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+package ru.practicum.versioning;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JsonResponseCache {
+    private static final byte[] OBJECT_END = "}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final ResourceVersions versions;
+
+    private final Map<String, CachedJson> entries = new ConcurrentHashMap<>();
+
+    @Value("${responses.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${responses.cache.max-entries:5000}")
+    private int maxEntries;
+
+    @Value("${responses.cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    /**
+     * Answers a public GET from serialized bytes while the resources behind the
+     * version keys are unchanged, loading and serializing the body only on a miss.
+     */
+    public void serve(HttpServletRequest request, HttpServletResponse response,
+                      Supplier<?> loader, String... versionKeys) {
+        String etag = versions.etag(versionKeys);
+        if (new ServletWebRequest(request, response).checkNotModified(etag, versions.lastModified(versionKeys))) {
+            return;
+        }
+
+        CachedJson cached = get(request, etag);
+        if (cached == null) {
+            cached = put(request, etag, loader.get(), null);
+        }
+        write(cached, request, response, null);
+    }
+
+    public CachedJson get(HttpServletRequest request, String etag) {
+        CachedJson cached = entries.get(keyOf(request));
+        return cached != null && cached.getEtag().equals(etag) ? cached : null;
+    }
+
+    /**
+     * Serializes the body once. A late field is cut out of the cached bytes and
+     * appended at write time, so a frequently changing value such as views can
+     * stay live without serializing the rest of the object again.
+     */
+    public CachedJson put(HttpServletRequest request, String etag, Object body, String lateField) {
+        try {
+            CachedJson cached;
+            if (lateField == null) {
+                byte[] bytes = objectMapper.writeValueAsBytes(body);
+                cached = new CachedJson(etag, bytes, null, bytes.length >= gzipMinBytes ? gzip(bytes) : null);
+            } else {
+                ObjectNode node = objectMapper.valueToTree(body);
+                node.remove(lateField);
+                String json = objectMapper.writeValueAsString(node);
+                String head = json.substring(0, json.length() - 1)
+                        + (node.isEmpty() ? "" : ",") + objectMapper.writeValueAsString(lateField) + ":";
+                cached = new CachedJson(etag, head.getBytes(StandardCharsets.UTF_8), OBJECT_END, null);
+            }
+
+            if (enabled) {
+                if (entries.size() >= maxEntries) {
+                    entries.clear();
+                    log.debug("Response cache reached {} entries and was cleared", maxEntries);
+                }
+                entries.put(keyOf(request), cached);
+            }
+            return cached;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void write(CachedJson cached, HttpServletRequest request, HttpServletResponse response, Object lateValue) {
+        try {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            if (cached.getTail() != null) {
+                byte[] value = objectMapper.writeValueAsBytes(lateValue);
+                response.setContentLength(cached.getHead().length + value.length + cached.getTail().length);
+                OutputStream out = response.getOutputStream();
+                out.write(cached.getHead());
+                out.write(value);
+                out.write(cached.getTail());
+                return;
+            }
+
+            byte[] bytes = cached.getHead();
+            if (cached.getGzipped() != null) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+                if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                    response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                    bytes = cached.getGzipped();
+                }
+            }
+            response.setContentLength(bytes.length);
+            response.getOutputStream().write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private static String keyOf(HttpServletRequest request) {
+        return request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(bytes);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedJson {
+        private final String etag;
+        private final byte[] head;
+        private final byte[] tail;
+        private final byte[] gzipped;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package ru.practicum.versioning;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.domain.*;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class ResourceVersions {
+    public static final String CATEGORIES = "categories";
+    public static final String COMPILATIONS = "compilations";
+    public static final String EVENTS = "events";
+    public static final String COMMENTS = "comments";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+
+    private volatile Version baseline = new Version(0, System.currentTimeMillis());
+
+    public static String event(Long eventId) {
+        return "event:" + eventId;
+    }
+
+    public static String category(Long categoryId) {
+        return "category:" + categoryId;
+    }
+
+    public static String compilation(Long compilationId) {
+        return "compilation:" + compilationId;
+    }
+
+    public static String eventComments(Long eventId) {
+        return "comments:" + eventId;
+    }
+
+    /**
+     * Sets ETag and Last-Modified for the resources behind the given keys and
+     * tells whether the request can be answered with 304 Not Modified.
+     */
+    public boolean checkNotModified(WebRequest request, String... keys) {
+        return request.checkNotModified(etag(keys), lastModified(keys));
+    }
+
+    public String etag(String... keys) {
+        StringBuilder etag = new StringBuilder("\"").append(epoch);
+        for (String key : keys) {
+            etag.append('-').append(Long.toString(versions.getOrDefault(key, baseline).getNumber(), 36));
+        }
+        return etag.append('"').toString();
+    }
+
+    public long lastModified(String... keys) {
+        long lastModified = 0;
+        for (String key : keys) {
+            lastModified = Math.max(lastModified, versions.getOrDefault(key, baseline).getModifiedAt());
+        }
+        return lastModified;
+    }
+
+    public void bump(String... keys) {
+        long now = System.currentTimeMillis();
+        for (String key : keys) {
+            versions.put(key, new Version(sequence.incrementAndGet(), now));
+        }
+    }
+
+    public void bumpEvents(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        eventIds.forEach(eventId -> bump(event(eventId)));
+        bump(EVENTS);
+    }
+
+    public void reset() {
+        baseline = new Version(sequence.incrementAndGet(), System.currentTimeMillis());
+        versions.clear();
+        log.debug("Resource versions reset");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChanged changed) {
+        bump(event(changed.getEvent().getId()), EVENTS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChanged changed) {
+        bump(category(changed.getCategory().getId()), CATEGORIES);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompilationChanged(CompilationChanged changed) {
+        bump(compilation(changed.getCompilationId()), COMPILATIONS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChanged changed) {
+        bump(eventComments(changed.getEventId()), COMMENTS);
+        if (changed.isCountChanged()) {
+            bump(event(changed.getEventId()), EVENTS);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeleted deleted) {
+        reset();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Version {
+        private final long number;
+        private final long modifiedAt;
+    }
+}
\ No newline at end of file
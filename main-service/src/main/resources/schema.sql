@@ -25,7 +25,9 @@ CREATE TABLE IF NOT EXISTS events (
     published_on TIMESTAMP,
     request_moderation BOOLEAN DEFAULT TRUE,
     state VARCHAR(20) DEFAULT 'PENDING',
-    title VARCHAR(120) NOT NULL
+    title VARCHAR(120) NOT NULL,
+    views BIGINT NOT NULL DEFAULT 0,
+    comments_count BIGINT DEFAULT 0
 );
 
 CREATE TABLE IF NOT EXISTS participation_requests (
@@ -83,4 +85,16 @@ CREATE INDEX idx_comments_author_id ON comments(author_id);
 CREATE INDEX idx_comments_status ON comments(status);
 CREATE INDEX idx_comments_parent_id ON comments(parent_comment_id);
 CREATE INDEX idx_comment_reactions_comment_id ON comment_reactions(comment_id);
-CREATE INDEX idx_comment_reactions_user_id ON comment_reactions(user_id);
\ No newline at end of file
+CREATE INDEX idx_comment_reactions_user_id ON comment_reactions(user_id);
+CREATE INDEX idx_events_views ON events(views);
+CREATE INDEX idx_events_location ON events(lat, lon);
+CREATE INDEX idx_events_admin_search ON events(initiator_id, state, category_id, event_date);
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS categories_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS events_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS participation_requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS compilations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS compilation_events_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comment_reactions_seq START WITH 1 INCREMENT BY 50;
\ No newline at end of file
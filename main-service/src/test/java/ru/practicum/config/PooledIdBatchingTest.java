@@ -0,0 +1,42 @@
+package ru.practicum.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.entity.User;
+import ru.practicum.monitoring.QueryCountInspector;
+import ru.practicum.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("docker")
+class PooledIdBatchingTest {
+    private static final int ROWS = 500;
+    private static final int MAX_STATEMENTS = 30;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void bulkInsertSharesSequenceCallsAndBatches() {
+        String prefix = "pooled" + System.nanoTime();
+        List<User> users = IntStream.range(0, ROWS)
+                .mapToObj(i -> User.builder().name("user" + i).email(prefix + "-" + i + "@test.com").build())
+                .collect(Collectors.toList());
+
+        QueryCountInspector.start();
+        List<User> saved = userRepository.saveAll(users);
+        int statements = QueryCountInspector.stop();
+
+        assertEquals(ROWS, saved.stream().map(User::getId).distinct().count());
+        assertTrue(statements <= MAX_STATEMENTS,
+                "Inserting " + ROWS + " users took " + statements + " statements, budget is " + MAX_STATEMENTS);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package ru.practicum.monitoring;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.dto.*;
+import ru.practicum.dto.comment.CommentDto;
+import ru.practicum.dto.comment.NewCommentDto;
+import ru.practicum.entity.CommentStatus;
+import ru.practicum.service.*;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query_budget_db",
+        "events.catalog.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("docker")
+class PublicEndpointQueryBudgetTest {
+    private static final int ITEMS = 10;
+    private static final int MAX_STATEMENTS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CompilationService compilationService;
+
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        String prefix = "budget" + System.nanoTime();
+        UserDto initiator = userService.createUser(NewUserRequest.builder()
+                .name("initiator")
+                .email(prefix + "@test.com")
+                .build());
+        CategoryDto category = categoryService.createCategory(new NewCategoryDto(prefix));
+        String eventDate = LocalDateTime.now().plusDays(7).format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+
+        List<Long> eventIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            EventFullDto event = eventService.createEvent(initiator.getId(), NewEventDto.builder()
+                    .annotation("Query budget event annotation " + i)
+                    .description("Query budget event description " + i)
+                    .category(category.getId())
+                    .eventDate(eventDate)
+                    .location(new LocationDto(55.75f, 37.61f))
+                    .title("Budget " + i)
+                    .build());
+            eventService.updateEventByAdmin(event.getId(), UpdateEventAdminRequest.builder()
+                    .stateAction(UpdateEventAdminRequest.StateAction.PUBLISH_EVENT)
+                    .build());
+            eventIds.add(event.getId());
+        }
+        eventId = eventIds.get(0);
+
+        for (int i = 0; i < ITEMS; i++) {
+            UserDto author = userService.createUser(NewUserRequest.builder()
+                    .name("author" + i)
+                    .email(prefix + "-" + i + "@test.com")
+                    .build());
+            CommentDto comment = commentService.createComment(author.getId(), NewCommentDto.builder()
+                    .text("Query budget comment " + i)
+                    .eventId(eventId)
+                    .build());
+            commentService.moderateComment(comment.getId(), CommentStatus.PUBLISHED, null);
+        }
+
+        compilationService.createCompilation(NewCompilationDto.builder()
+                .title(prefix)
+                .events(eventIds)
+                .build());
+    }
+
+    @Test
+    void publicEventListStaysWithinBudget() throws Exception {
+        QueryCountInspector.start();
+        MvcResult result = mockMvc.perform(get("/events").param("size", String.valueOf(ITEMS))).andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        assertWithinBudget("GET /events", QueryCountInspector.stop());
+    }
+
+    @Test
+    void compilationListStaysWithinBudget() throws Exception {
+        QueryCountInspector.start();
+        mockMvc.perform(get("/compilations").param("size", String.valueOf(ITEMS))).andExpect(status().isOk());
+        assertWithinBudget("GET /compilations", QueryCountInspector.stop());
+    }
+
+    @Test
+    void commentListStaysWithinBudget() throws Exception {
+        QueryCountInspector.start();
+        mockMvc.perform(get("/comments/event/{eventId}", eventId).param("size", String.valueOf(ITEMS)))
+                .andExpect(status().isOk());
+        assertWithinBudget("GET /comments/event/" + eventId, QueryCountInspector.stop());
+    }
+
+    private void assertWithinBudget(String endpoint, int statements) {
+        assertTrue(statements <= MAX_STATEMENTS,
+                endpoint + " executed " + statements + " SQL statements, budget is " + MAX_STATEMENTS);
+    }
+}
\ No newline at end of file
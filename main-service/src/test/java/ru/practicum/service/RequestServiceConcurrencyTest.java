@@ -0,0 +1,103 @@
+package ru.practicum.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.entity.*;
+import ru.practicum.exception.ConflictException;
+import ru.practicum.repository.CategoryRepository;
+import ru.practicum.repository.EventRepository;
+import ru.practicum.repository.RequestRepository;
+import ru.practicum.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("docker")
+class RequestServiceConcurrencyTest {
+    private static final int PARTICIPANT_LIMIT = 50;
+    private static final int REQUESTS = 1000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Test
+    void parallelRequestsNeverOversellEvent() throws Exception {
+        String prefix = "rush" + System.nanoTime();
+        User initiator = userRepository.save(User.builder()
+                .name("initiator")
+                .email(prefix + "-initiator@test.com")
+                .build());
+        List<User> requesters = userRepository.saveAll(IntStream.range(0, REQUESTS)
+                .mapToObj(i -> User.builder().name("requester" + i).email(prefix + "-" + i + "@test.com").build())
+                .collect(Collectors.toList()));
+        Category category = categoryRepository.save(Category.builder().name(prefix).build());
+        Event event = eventRepository.save(Event.builder()
+                .annotation("Concurrency test event annotation")
+                .description("Concurrency test event description")
+                .title("Concurrency test")
+                .category(category)
+                .initiator(initiator)
+                .eventDate(LocalDateTime.now().plusDays(7))
+                .location(new Location(55.75f, 37.61f))
+                .participantLimit(PARTICIPANT_LIMIT)
+                .requestModeration(false)
+                .state(Event.EventState.PUBLISHED)
+                .publishedOn(LocalDateTime.now())
+                .build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (User requester : requesters) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        requestService.createParticipationRequest(requester.getId(), event.getId());
+                        confirmed.incrementAndGet();
+                    } catch (ConflictException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(PARTICIPANT_LIMIT, confirmed.get());
+        assertEquals(REQUESTS - PARTICIPANT_LIMIT, rejected.get());
+        assertEquals(PARTICIPANT_LIMIT, eventRepository.findConfirmedRequests(event.getId()));
+        assertEquals(PARTICIPANT_LIMIT, requestRepository.countByEventIdAndStatus(
+                event.getId(), ParticipationRequest.Status.CONFIRMED));
+    }
+}
\ No newline at end of file
@@ -14,6 +14,8 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Service
@@ -27,6 +29,7 @@ public class StatsServiceImpl implements StatsService {
     private static final Map<String, AtomicLong> HIT_COUNTERS = new ConcurrentHashMap<>();
     private static final Map<String, Set<String>> UNIQUE_HITS = new ConcurrentHashMap<>();
 
+    private final Lock cacheLock = new ReentrantLock();
     private volatile boolean cacheInitialized = false;
 
     @Override
@@ -168,8 +171,15 @@ public class StatsServiceImpl implements StatsService {
         return result;
     }
 
-    private synchronized void initializeCache() {
-        if (!cacheInitialized) {
+    private void initializeCache() {
+        if (cacheInitialized) {
+            return;
+        }
+        cacheLock.lock();
+        try {
+            if (cacheInitialized) {
+                return;
+            }
             log.info("Initializing cache from database...");
             List<EndpointHit> allHits = statsRepository.findAll();
 
@@ -183,6 +193,8 @@ public class StatsServiceImpl implements StatsService {
 
             cacheInitialized = true;
             log.info("Cache initialized. Total URIs: {}", HIT_COUNTERS.size());
+        } finally {
+            cacheLock.unlock();
         }
     }
 